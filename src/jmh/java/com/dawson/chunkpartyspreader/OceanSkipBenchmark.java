@@ -0,0 +1,71 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ocean-skip candidate search run against a stubbed biome lookup, so only the search loop
+ * itself is measured. Each invocation behaves like one join: search from the current index,
+ * then move the index past the slot that was found.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OceanSkipBenchmark {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Param({"0.0", "0.5", "0.9"})
+    public double oceanRatio;
+
+    @Param({"0", "1000000"})
+    public int startIndex;
+
+    private final SpiralLayout layout = new SpiralLayout(25, 0, 0);
+    private BiomeClassifier.ColumnLookup lookup;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Deterministic "biome" per column: a mixed hash compared against the requested ocean share.
+        long threshold = (long) (oceanRatio * (1L << 32));
+        lookup = (bx, bz) -> {
+            long h = HashCommon.mix(((long) bx << 32) ^ (bz & 0xFFFFFFFFL)) & 0xFFFFFFFFL;
+            return h < threshold ? BiomeClassifier.OCEAN : BiomeClassifier.LAND;
+        };
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIndex() {
+        index = startIndex;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Benchmarks
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Benchmark
+    public int findNextUsable() {
+        int found = BiomeClassifier.findUsableIndex(layout, index, 10000, lookup);
+        index = found < 0 ? index + 10000 : found + 1;
+        return found;
+    }
+}
@@ -0,0 +1,100 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot cost of {@link SpreaderWorldData} at different server sizes, both as an in-memory tag
+ * and through the gzip round trip that vanilla performs on every world save.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4G"})
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Param({"1000", "100000", "1000000"})
+    public int assignments;
+
+    private SpreaderWorldData data;
+    private CompoundTag savedTag;
+    private byte[] savedBytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        SpiralLayout layout = new SpiralLayout(25, 0, 0);
+
+        // Journal stays closed: no config or level is needed, only the in-memory store.
+        data = new SpreaderWorldData();
+        for (int i = 0; i < assignments; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            var chunk = layout.chunkForIndex(i);
+            data.putAssignment(uuid, new BlockPos(chunk.getMinBlockX() + 8, 64 + random.nextInt(100), chunk.getMinBlockZ() + 8));
+        }
+        data.setCurrentSpiralIndex(assignments);
+
+        savedTag = data.save(new CompoundTag());
+        savedBytes = compress(savedTag);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Benchmarks
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Benchmark
+    public CompoundTag saveTag() {
+        return data.save(new CompoundTag());
+    }
+
+    @Benchmark
+    public byte[] saveCompressed() throws IOException {
+        return compress(data.save(new CompoundTag()));
+    }
+
+    @Benchmark
+    public SpreaderWorldData loadTag() {
+        return SpreaderWorldData.load(savedTag);
+    }
+
+    @Benchmark
+    public SpreaderWorldData loadCompressed() throws IOException {
+        return SpreaderWorldData.load(NbtIo.readCompressed(new ByteArrayInputStream(savedBytes)));
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static byte[] compress(CompoundTag tag) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(tag, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,120 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.world.level.ChunkPos;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Footprint of each placement strategy: how many region files 1,000 consecutive players touch when
+ * each builds within the default {@code region_build_radius_chunks} of their home.
+ * The counts are reported as the {@code regionFiles} and {@code regionFilesPerHundred} secondary results;
+ * the timing is the cost of walking the strategy's cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlacementBenchmark {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int PLAYERS = 1000;
+    private static final int BUILD_RADIUS = 8;
+
+    @Param({"SPIRAL", "HILBERT", "HEX"})
+    public CPSConfig.PlacementMode mode;
+
+    @Param({"0", "100000"})
+    public int startIndex;
+
+    @Param({"25"})
+    public int spacing;
+
+    private SpiralLayout layout;
+    private final LongOpenHashSet all = new LongOpenHashSet();
+    private final LongOpenHashSet block = new LongOpenHashSet();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        layout = new SpiralLayout(spacing, 0, 0, mode);
+    }
+
+    /**
+     * Counts are assigned rather than accumulated, and the single measurement iteration reports the last value.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long regionFiles;
+        public long regionFilesPerHundred;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            regionFiles = 0;
+            regionFilesPerHundred = 0;
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Benchmarks
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Benchmark
+    public long regionFilesPer1000Players(Footprint footprint) {
+        all.clear();
+        block.clear();
+        long perHundred = 0;
+
+        PlacementStrategy.Cursor cursor = layout.cursor(startIndex);
+        for (int i = 0; i < PLAYERS; i++) {
+            ChunkPos home = layout.chunkAt(cursor);
+            touch(home, all);
+            touch(home, block);
+            cursor.next();
+
+            // Files touched by each run of 100 consecutive players, summed; lower means tighter clusters.
+            if ((i + 1) % 100 == 0) {
+                perHundred += block.size();
+                block.clear();
+            }
+        }
+
+        footprint.regionFiles = all.size();
+        footprint.regionFilesPerHundred = perHundred;
+        return all.size();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void touch(ChunkPos home, LongOpenHashSet regions) {
+        int minX = Math.floorDiv(home.x - BUILD_RADIUS, SpiralCalculator.REGION_CHUNKS);
+        int maxX = Math.floorDiv(home.x + BUILD_RADIUS, SpiralCalculator.REGION_CHUNKS);
+        int minZ = Math.floorDiv(home.z - BUILD_RADIUS, SpiralCalculator.REGION_CHUNKS);
+        int maxZ = Math.floorDiv(home.z + BUILD_RADIUS, SpiralCalculator.REGION_CHUNKS);
+        for (int rx = minX; rx <= maxX; rx++) {
+            for (int rz = minZ; rz <= maxZ; rz++) {
+                regions.add(ChunkPos.asLong(rx, rz));
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.world.level.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spiral index math at small and huge indices, one-off lookups versus cursor stepping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpiralBenchmark {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int BATCH = 1024;
+
+    @Param({"10", "100000", "2000000000"})
+    public int startIndex;
+
+    private final int[] xs = new int[BATCH];
+    private final int[] zs = new int[BATCH];
+    private final long[] chunks = new long[BATCH];
+    private int unitX;
+    private int unitZ;
+
+    @Setup
+    public void setup() {
+        SpiralCalculator.IntPoint p = SpiralCalculator.unitForIndex(startIndex);
+        unitX = p.x();
+        unitZ = p.z();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Benchmarks
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Benchmark
+    public SpiralCalculator.IntPoint unitForIndex() {
+        return SpiralCalculator.unitForIndex(startIndex);
+    }
+
+    @Benchmark
+    public ChunkPos chunkForIndex() {
+        return SpiralCalculator.chunkForIndex(startIndex, 25, 0, 0);
+    }
+
+    @Benchmark
+    public int indexForUnit() {
+        return SpiralCalculator.indexForUnit(unitX, unitZ);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void unitForIndexSequential(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(SpiralCalculator.unitForIndex(startIndex + i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void cursorSequential(Blackhole bh) {
+        SpiralCalculator.Cursor cursor = new SpiralCalculator.Cursor(startIndex);
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(cursor.x());
+            bh.consume(cursor.z());
+            cursor.next();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] fillUnits() {
+        SpiralCalculator.fillUnits(startIndex, BATCH, xs, zs);
+        return xs;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] fillChunks() {
+        SpiralCalculator.fillChunks(startIndex, BATCH, 25, 0, 0, chunks);
+        return chunks;
+    }
+}
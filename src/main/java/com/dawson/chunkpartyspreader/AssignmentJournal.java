@@ -0,0 +1,399 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.core.BlockPos;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of assignment changes that sits next to the {@link SpreaderWorldData} snapshot.
+ * Appends are buffered in memory and written by a background thread with one fsync per batch (group commit).
+ * Every record carries a sequence number; the snapshot stores the last sequence it contains, so replay and
+ * compaction never apply or drop a record twice.
+ */
+public final class AssignmentJournal {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int MAGIC = 0x4350534A; // "CPSJ"
+    // Version 2 adds removal records, version 3 free-list records, version 4 synthetic-player records; older files are still readable.
+    private static final int VERSION = 4;
+
+    static final byte TYPE_ASSIGN = 1;
+    static final byte TYPE_INDEX = 2;
+    static final byte TYPE_RESET = 3;
+    static final byte TYPE_REMOVE = 4;
+    static final byte TYPE_FREE = 5;
+    static final byte TYPE_SYNTHETIC = 6;
+
+    private static final int HEADER_BYTES = 8;
+    // Type byte, sequence number and three payload longs.
+    private static final int RECORD_BYTES = 1 + 4 * Long.BYTES;
+
+    // Every journal opened this session, closed together on shutdown.
+    private static final Set<AssignmentJournal> OPEN = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Receives replayed records when a journal is opened.
+     */
+    public interface Replayer {
+        void assign(UUID uuid, BlockPos pos);
+
+        void index(int spiralIndex);
+
+        void reset();
+
+        void remove(UUID uuid);
+
+        void freeIndex(int spiralIndex, boolean released);
+
+        void synthetic(UUID uuid);
+    }
+
+    /**
+     * Opens (or creates) a journal and replays every record newer than the snapshot.
+     *
+     * @param snapshotSeq The last sequence number already contained in the loaded snapshot.
+     */
+    public static AssignmentJournal open(Path path, long snapshotSeq, Replayer replayer) throws IOException {
+        Replay replay = replay(path, snapshotSeq, replayer);
+        if (replay.replayed() > 0) {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Replayed {} journal records from {}.", replay.replayed(), path.getFileName());
+        }
+
+        AssignmentJournal journal = new AssignmentJournal(path, replay.lastSeq() + 1, replay.replayed());
+        OPEN.add(journal);
+        return journal;
+    }
+
+    /**
+     * Applies every record newer than the snapshot, then cuts off a torn tail left by a crash,
+     * so records appended afterwards start on a record boundary.
+     */
+    static Replay replay(Path path, long snapshotSeq, Replayer replayer) throws IOException {
+        long lastSeq = snapshotSeq;
+        int replayed = 0;
+
+        if (Files.exists(path)) {
+            long validLength = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                if (readHeader(in, path)) {
+                    validLength = HEADER_BYTES;
+                }
+                while (true) {
+                    Record record = readRecord(in);
+                    if (record == null) break;
+
+                    validLength += RECORD_BYTES;
+                    lastSeq = Math.max(lastSeq, record.seq());
+                    if (record.seq() <= snapshotSeq) continue;
+
+                    switch (record.type()) {
+                        case TYPE_ASSIGN -> replayer.assign(new UUID(record.a(), record.b()), BlockPos.of(record.c()));
+                        case TYPE_INDEX -> replayer.index((int) record.a());
+                        case TYPE_RESET -> replayer.reset();
+                        case TYPE_REMOVE -> replayer.remove(new UUID(record.a(), record.b()));
+                        case TYPE_FREE -> replayer.freeIndex((int) record.a(), record.b() != 0);
+                        case TYPE_SYNTHETIC -> replayer.synthetic(new UUID(record.a(), record.b()));
+                        default -> throw new IOException("Unknown journal record type " + record.type());
+                    }
+                    replayed++;
+                }
+            }
+
+            if (Files.size(path) > validLength) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+            }
+        }
+        return new Replay(lastSeq, replayed);
+    }
+
+    /**
+     * Flushes and closes every open journal. Called once the final world save has finished.
+     */
+    public static void closeAll() {
+        for (AssignmentJournal journal : OPEN) {
+            journal.close();
+        }
+        OPEN.clear();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private final Path path;
+    private final Object lock = new Object();
+    private final ScheduledExecutorService writer;
+
+    // --- Guarded by lock ---
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private FileChannel channel;
+    private long nextSeq;
+    private int recordsSinceSnapshot;
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private AssignmentJournal(Path path, long nextSeq, int recordsSinceSnapshot) throws IOException {
+        this.path = path;
+        this.nextSeq = nextSeq;
+        this.recordsSinceSnapshot = recordsSinceSnapshot;
+        this.channel = openForAppend(path);
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "CPS Journal Writer");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = CPSConfig.JOURNAL_FLUSH_INTERVAL_MS.get();
+        writer.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public long appendAssignment(UUID uuid, BlockPos pos) {
+        return append(TYPE_ASSIGN, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), pos.asLong());
+    }
+
+    public long appendIndex(int spiralIndex) {
+        return append(TYPE_INDEX, spiralIndex, 0L, 0L);
+    }
+
+    public long appendReset() {
+        return append(TYPE_RESET, 0L, 0L, 0L);
+    }
+
+    public long appendRemoval(UUID uuid) {
+        return append(TYPE_REMOVE, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0L);
+    }
+
+    /**
+     * @param released True when the index joins the free list, false when a join takes it back out.
+     */
+    public long appendFreeIndex(int spiralIndex, boolean released) {
+        return append(TYPE_FREE, spiralIndex, released ? 1L : 0L, 0L);
+    }
+
+    public long appendSynthetic(UUID uuid) {
+        return append(TYPE_SYNTHETIC, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0L);
+    }
+
+    /**
+     * @return The sequence number of the most recent record (0 if none were ever written).
+     */
+    public long lastSeq() {
+        synchronized (lock) {
+            return nextSeq - 1;
+        }
+    }
+
+    /**
+     * @return How many records were appended since the last compaction.
+     */
+    public int recordsSinceSnapshot() {
+        synchronized (lock) {
+            return recordsSinceSnapshot;
+        }
+    }
+
+    /**
+     * Schedules removal of every record up to {@code upToSeq} once a snapshot containing them is on disk.
+     */
+    public void compactAsync(long upToSeq) {
+        synchronized (lock) {
+            recordsSinceSnapshot = (int) Math.max(0, (nextSeq - 1) - upToSeq);
+        }
+        writer.execute(() -> compact(upToSeq));
+    }
+
+    /**
+     * Writes pending records, stops the writer, and closes the file.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Journal writer did not finish in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flushQuietly();
+        synchronized (lock) {
+            try {
+                if (channel != null) channel.close();
+            } catch (IOException e) {
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to close journal", e);
+            }
+            channel = null;
+        }
+        OPEN.remove(this);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private long append(byte type, long a, long b, long c) {
+        synchronized (lock) {
+            long seq = nextSeq++;
+            try {
+                writeRecord(pendingOut, type, seq, a, b, c);
+            } catch (IOException e) {
+                // ByteArrayOutputStream never throws; kept for the DataOutput signature.
+                throw new IllegalStateException(e);
+            }
+            recordsSinceSnapshot++;
+            return seq;
+        }
+    }
+
+    /**
+     * Group commit: everything buffered since the last run is written and forced with a single fsync.
+     */
+    private void flushQuietly() {
+        synchronized (lock) {
+            if (pending.size() == 0 || channel == null) return;
+            try {
+                channel.write(ByteBuffer.wrap(pending.toByteArray()));
+                channel.force(false);
+                pending.reset();
+            } catch (IOException e) {
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to write journal batch; will retry.", e);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the journal keeping only records newer than {@code upToSeq}, then swaps it in atomically.
+     */
+    private void compact(long upToSeq) {
+        flushQuietly();
+        synchronized (lock) {
+            if (channel == null) return;
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                channel.close();
+
+                int kept = 0;
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+                     DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                    readHeader(in, path);
+                    writeHeader(out);
+                    while (true) {
+                        Record record = readRecord(in);
+                        if (record == null) break;
+                        if (record.seq() <= upToSeq) continue;
+
+                        writeRecord(out, record.type(), record.seq(), record.a(), record.b(), record.c());
+                        kept++;
+                    }
+                }
+
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                ChunkPartySpreader.LOGGER.debug("[Chunk Party Spreader] - Journal compacted up to seq {} ({} records kept).", upToSeq, kept);
+            } catch (IOException e) {
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Journal compaction failed; keeping the full log.", e);
+            } finally {
+                try {
+                    channel = openForAppend(path);
+                } catch (IOException e) {
+                    ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to reopen journal", e);
+                    channel = null;
+                }
+            }
+        }
+    }
+
+    static FileChannel openForAppend(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (fresh) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            writeHeader(new DataOutputStream(header));
+            channel.write(ByteBuffer.wrap(header.toByteArray()));
+            channel.force(false);
+        }
+        return channel;
+    }
+
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    /**
+     * @return False if the file ends before the header does.
+     */
+    private static boolean readHeader(DataInputStream in, Path path) throws IOException {
+        try {
+            if (in.readInt() != MAGIC) throw new IOException("Not a CPS journal: " + path);
+            int version = in.readInt();
+            if (version < 1 || version > VERSION) throw new IOException("Unsupported journal version " + version + ": " + path);
+            return true;
+        } catch (EOFException e) {
+            // Empty file (created but never written), or a header torn by a crash.
+            return false;
+        }
+    }
+
+    static void writeRecord(DataOutputStream out, byte type, long seq, long a, long b, long c) throws IOException {
+        out.writeByte(type);
+        out.writeLong(seq);
+        out.writeLong(a);
+        out.writeLong(b);
+        out.writeLong(c);
+    }
+
+    /**
+     * @return The next record, or null at end of file. A torn tail from a crash also ends the log.
+     */
+    private static Record readRecord(DataInputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) return null;
+        try {
+            return new Record((byte) type, in.readLong(), in.readLong(), in.readLong(), in.readLong());
+        } catch (EOFException e) {
+            ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Journal ends with a partial record; ignoring it.");
+            return null;
+        }
+    }
+
+    private record Record(byte type, long seq, long a, long b, long c) {}
+
+    /**
+     * @param lastSeq  The highest sequence number in the file or the snapshot.
+     * @param replayed How many records were newer than the snapshot.
+     */
+    record Replay(long lastSeq, int replayed) {}
+}
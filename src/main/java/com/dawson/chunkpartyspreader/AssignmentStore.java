@@ -0,0 +1,230 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Primitive open-addressing map from player UUID to packed home position.
+ * UUIDs are stored as two longs and positions as {@link BlockPos#asLong()}, so no per-player objects are kept.
+ * A reverse index answers "who owns this chunk" in O(1).
+ */
+public final class AssignmentStore {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Receives every entry during {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void accept(long mostSigBits, long leastSigBits, long packedPos);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private long[] most;
+    private long[] least;
+    private long[] positions;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    // Home chunk (ChunkPos.toLong) -> owner.
+    private final Long2ObjectOpenHashMap<UUID> owners = new Long2ObjectOpenHashMap<>();
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public AssignmentStore() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Grows the table up front so bulk loads do not rehash repeatedly.
+     */
+    public void ensureCapacity(int expected) {
+        int needed = HashCommon.arraySize(expected, LOAD_FACTOR);
+        if (needed > used.length) {
+            rehash(needed);
+        }
+    }
+
+    /**
+     * @return The home position, or null if the player has no assignment.
+     */
+    public BlockPos get(UUID uuid) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return slot < 0 ? null : BlockPos.of(positions[slot]);
+    }
+
+    public boolean contains(UUID uuid) {
+        return find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * Inserts or replaces an assignment and keeps the owner index in sync.
+     */
+    public void put(UUID uuid, long packedPos) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        int slot = find(msb, lsb);
+        if (slot >= 0) {
+            unindexOwner(uuid, positions[slot]);
+            positions[slot] = packedPos;
+        } else {
+            slot = insertionSlot(msb, lsb);
+            most[slot] = msb;
+            least[slot] = lsb;
+            positions[slot] = packedPos;
+            used[slot] = true;
+            if (++size >= resizeAt) {
+                rehash(used.length * 2);
+            }
+        }
+        owners.put(chunkKey(packedPos), uuid);
+    }
+
+    /**
+     * @return True if an assignment was removed.
+     */
+    public boolean remove(UUID uuid) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot < 0) return false;
+
+        unindexOwner(uuid, positions[slot]);
+        used[slot] = false;
+        size--;
+        shiftKeys(slot);
+        return true;
+    }
+
+    /**
+     * @return The player whose home is in the given chunk, or null.
+     */
+    public UUID ownerOf(ChunkPos chunk) {
+        return owners.get(chunk.toLong());
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        owners.clear();
+        size = 0;
+    }
+
+    public void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                visitor.accept(most[i], least[i], positions[i]);
+            }
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static long chunkKey(long packedPos) {
+        return ChunkPos.asLong(BlockPos.getX(packedPos) >> 4, BlockPos.getZ(packedPos) >> 4);
+    }
+
+    private static int hash(long msb, long lsb) {
+        return (int) HashCommon.mix(msb ^ (lsb * 0x9E3779B97F4A7C15L));
+    }
+
+    private void unindexOwner(UUID uuid, long packedPos) {
+        long key = chunkKey(packedPos);
+        if (uuid.equals(owners.get(key))) {
+            owners.remove(key);
+        }
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = hash(msb, lsb) & mask;
+        while (used[slot]) {
+            if (most[slot] == msb && least[slot] == lsb) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int insertionSlot(long msb, long lsb) {
+        int slot = hash(msb, lsb) & mask;
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion for linear probing: pulls later entries of the same run into the gap,
+     * so no tombstones are needed.
+     */
+    private void shiftKeys(int gap) {
+        int slot = (gap + 1) & mask;
+        while (used[slot]) {
+            int home = hash(most[slot], least[slot]) & mask;
+
+            // Move the entry only if its home slot does not lie cyclically in (gap, slot].
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if (movable) {
+                most[gap] = most[slot];
+                least[gap] = least[slot];
+                positions[gap] = positions[slot];
+                used[gap] = true;
+                used[slot] = false;
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        positions = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeAt = Math.min(capacity - 1, (int) Math.ceil(capacity * LOAD_FACTOR));
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        long[] oldPositions = positions;
+        boolean[] oldUsed = used;
+
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+
+            int slot = insertionSlot(oldMost[i], oldLeast[i]);
+            most[slot] = oldMost[i];
+            least[slot] = oldLeast[i];
+            positions[slot] = oldPositions[i];
+            used[slot] = true;
+        }
+    }
+}
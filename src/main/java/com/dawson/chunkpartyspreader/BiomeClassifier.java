@@ -0,0 +1,112 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.tags.BiomeTags;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
+
+/**
+ * Classifies spiral candidates as usable land or water.
+ * Results are plain bytes so they can be stored in compact tables.
+ */
+public final class BiomeClassifier {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public static final byte UNKNOWN = 0;
+    public static final byte LAND = 1;
+    public static final byte OCEAN = 2;
+    public static final byte RIVER = 3;
+
+    /**
+     * Classifies the block column at the given position.
+     * Lets the spiral search run against a live level, the noise sampler, or a stub in benchmarks.
+     */
+    @FunctionalInterface
+    public interface ColumnLookup {
+        byte classify(int blockX, int blockZ);
+    }
+
+    private BiomeClassifier() {}
+
+    /**
+     * Classifies a resolved biome with a single holder lookup per tag.
+     */
+    public static byte classify(Holder<Biome> biome) {
+        if (biome.is(BiomeTags.IS_OCEAN)) return OCEAN;
+        if (biome.is(BiomeTags.IS_RIVER)) return RIVER;
+        return LAND;
+    }
+
+    /**
+     * Classifies a block position by querying the biome source directly.
+     * Safe to call off the server thread: the noise sampler is shared with worldgen workers.
+     */
+    public static byte classifyNoise(BiomeSource source, Climate.Sampler sampler, int blockX, int blockY, int blockZ) {
+        Holder<Biome> biome = source.getNoiseBiome(
+                QuartPos.fromBlock(blockX),
+                QuartPos.fromBlock(blockY),
+                QuartPos.fromBlock(blockZ),
+                sampler
+        );
+        return classify(biome);
+    }
+
+    /**
+     * @return True if a player may be placed on a spot with this classification.
+     */
+    public static boolean isUsable(byte classification) {
+        return classification == LAND;
+    }
+
+    /**
+     * Walks the spiral from {@code startIndex} and returns the first index whose chunk center is usable.
+     *
+     * @return The index, or -1 if nothing usable was found within {@code maxAttempts} indices.
+     */
+    public static int findUsableIndex(SpiralLayout layout, int startIndex, int maxAttempts, ColumnLookup lookup) {
+        return findUsableIndex(layout, startIndex, maxAttempts, lookup, null);
+    }
+
+    /**
+     * As {@link #findUsableIndex(SpiralLayout, int, int, ColumnLookup)}, but jumps over indices already in
+     * {@code knownUnusable} without sampling them and adds every newly rejected index to it.
+     * Only sampled indices count toward {@code maxAttempts}.
+     */
+    public static int findUsableIndex(SpiralLayout layout, int startIndex, int maxAttempts, ColumnLookup lookup, IndexBitmap knownUnusable) {
+        PlacementStrategy.Cursor cursor = layout.cursor(startIndex);
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            if (knownUnusable != null) {
+                int next = knownUnusable.nextClear(cursor.index());
+                if (next != cursor.index()) {
+                    cursor.seek(next);
+                }
+            }
+
+            if (isUsable(lookup.classify(layout.centerBlockX(cursor), layout.centerBlockZ(cursor)))) {
+                return cursor.index();
+            }
+            if (knownUnusable != null) {
+                knownUnusable.add(cursor.index());
+            }
+            cursor.next();
+        }
+        return -1;
+    }
+
+    /**
+     * @return A human-readable label for log output.
+     */
+    public static String describe(byte classification) {
+        return switch (classification) {
+            case LAND -> "Land";
+            case OCEAN -> "Ocean";
+            case RIVER -> "River";
+            default -> "Unknown";
+        };
+    }
+}
@@ -0,0 +1,258 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classifies upcoming spiral indices on a background thread so the join path never samples biomes.
+ * Each refill classifies a whole window of indices in parallel on a fork-join pool.
+ * Land indices are kept in an ascending ready queue; the server thread only pops from its head.
+ */
+public final class BiomePrescanner {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    // Mirrors the attempt limit of the synchronous join search.
+    private static final int MAX_SCAN_AHEAD = 10000;
+
+    private static final Object LOCK = new Object();
+    private static final AtomicBoolean REFILL_SCHEDULED = new AtomicBoolean(false);
+
+    private static final int MAX_WINDOW = 4096;
+
+    // --- Scan State (guarded by LOCK) ---
+    private static final IntArrayFIFOQueue READY = new IntArrayFIFOQueue();
+    private static ExecutorService executor;
+    private static ForkJoinPool pool;
+    private static BiomeSource biomeSource;
+    private static Climate.Sampler sampler;
+    private static SpiralLayout layout;
+    private static int sampleY;
+    private static int targetSize;
+    private static int windowSize;
+    private static int scanOrigin;
+    private static int scanCursor;
+    private static int consumedIndex;
+    private static int epoch;
+
+    private BiomePrescanner() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Captures the overworld biome source and starts scanning from the given index.
+     * Does nothing if ocean skipping or the prescanner is disabled.
+     */
+    public static void start(ServerLevel overworld, int startIndex) {
+        stop();
+
+        int size = CPSConfig.PRESCAN_READY_QUEUE_SIZE.get();
+        if (!CPSConfig.SKIP_OCEANS.get() || size <= 0) {
+            return;
+        }
+
+        synchronized (LOCK) {
+            biomeSource = overworld.getChunkSource().getGenerator().getBiomeSource();
+            sampler = overworld.getChunkSource().randomState().sampler();
+            layout = SpiralLayout.fromConfig();
+            sampleY = overworld.getSeaLevel();
+            targetSize = size;
+            windowSize = Math.min(MAX_WINDOW, CPSConfig.PRESCAN_WINDOW_SIZE.get());
+            pool = WindowClassifier.createPool("CPS Biome Classifier", CPSConfig.PRESCAN_THREADS.get());
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "CPS Biome Prescanner");
+                t.setDaemon(true);
+                return t;
+            });
+            resyncLocked(startIndex);
+        }
+
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Biome prescanner started at index {} (queue size {}, window {}).", startIndex, size, windowSize);
+        scheduleRefill();
+    }
+
+    /**
+     * Stops the background worker and discards all queued candidates.
+     */
+    public static void stop() {
+        synchronized (LOCK) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            if (pool != null) {
+                pool.shutdownNow();
+                pool = null;
+            }
+            READY.clear();
+            biomeSource = null;
+            sampler = null;
+            layout = null;
+            epoch++;
+        }
+    }
+
+    /**
+     * Pops the next prescanned land index at or after {@code currentIndex}.
+     * Every index between {@code currentIndex} and the returned one is known to be unusable.
+     *
+     * @return The land index, or -1 if nothing valid is queued for this layout.
+     */
+    public static int pollReadyIndex(int currentIndex, SpiralLayout currentLayout) {
+        synchronized (LOCK) {
+            if (executor == null || !currentLayout.equals(layout)) {
+                return -1;
+            }
+
+            // The index went backwards (data reset); everything queued is stale.
+            if (currentIndex < scanOrigin) {
+                resyncLocked(currentIndex);
+                return -1;
+            }
+
+            while (!READY.isEmpty()) {
+                int idx = READY.dequeueInt();
+                if (idx >= currentIndex) {
+                    return idx;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Informs the scanner that the spiral index advanced and tops the ready queue back up.
+     */
+    public static void onIndexConsumed(int newCurrentIndex) {
+        synchronized (LOCK) {
+            if (executor == null) return;
+
+            consumedIndex = newCurrentIndex;
+            if (scanCursor < newCurrentIndex) {
+                resyncLocked(newCurrentIndex);
+            }
+        }
+        scheduleRefill();
+    }
+
+    /**
+     * Drops all queued candidates and restarts the scan at the given index.
+     */
+    public static void resync(int index) {
+        synchronized (LOCK) {
+            if (executor == null) return;
+            resyncLocked(index);
+        }
+        scheduleRefill();
+    }
+
+    /**
+     * @return The number of land indices currently waiting in the ready queue.
+     */
+    public static int readyCount() {
+        synchronized (LOCK) {
+            return READY.size();
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void resyncLocked(int index) {
+        epoch++;
+        READY.clear();
+        scanOrigin = index;
+        scanCursor = index;
+        consumedIndex = index;
+    }
+
+    private static boolean needsRefillLocked() {
+        return executor != null
+                && READY.size() < targetSize
+                && scanCursor - consumedIndex < MAX_SCAN_AHEAD;
+    }
+
+    private static void scheduleRefill() {
+        synchronized (LOCK) {
+            if (!needsRefillLocked() || !REFILL_SCHEDULED.compareAndSet(false, true)) {
+                return;
+            }
+            executor.execute(BiomePrescanner::refill);
+        }
+    }
+
+    /**
+     * Worker loop: classifies one window of indices at a time until the queue is full.
+     * Biome sampling happens outside the lock so the server thread never waits on it.
+     */
+    private static void refill() {
+        // Owned by this run only: subtasks of a pool that stop() abandoned may still be writing into an older table.
+        byte[] table = new byte[MAX_WINDOW];
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int index;
+                int length;
+                int scanEpoch;
+                BiomeSource source;
+                Climate.Sampler climate;
+                SpiralLayout scanLayout;
+                ForkJoinPool workers;
+                int y;
+
+                synchronized (LOCK) {
+                    if (!needsRefillLocked()) break;
+                    index = scanCursor;
+                    length = windowSize;
+                    scanEpoch = epoch;
+                    source = biomeSource;
+                    climate = sampler;
+                    scanLayout = layout;
+                    workers = pool;
+                    y = sampleY;
+                }
+
+                WindowClassifier.classify(workers, scanLayout,
+                        (bx, bz) -> BiomeClassifier.classifyNoise(source, climate, bx, y, bz), index, table, length);
+
+                synchronized (LOCK) {
+                    // A resync happened while sampling; the results belong to an old scan.
+                    if (scanEpoch != epoch) continue;
+
+                    scanCursor = index + length;
+                    for (int i = 0; i < length; i++) {
+                        if (BiomeClassifier.isUsable(table[i])) {
+                            READY.enqueue(index + i);
+                        }
+                    }
+                }
+            }
+        } catch (CancellationException | RejectedExecutionException e) {
+            // stop() shut the pool down mid-window.
+        } catch (Throwable t) {
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Biome prescan failed; joins will fall back to live sampling.", t);
+            synchronized (LOCK) {
+                targetSize = 0;
+                READY.clear();
+            }
+        } finally {
+            REFILL_SCHEDULED.set(false);
+        }
+
+        // A request may have arrived between the last check and clearing the flag.
+        scheduleRefill();
+    }
+}
@@ -53,12 +53,245 @@ public final class CPSConfig {
             .comment("Center Z offset (in chunks) for the spiral.")
             .defineInRange("center_offset_z", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
 
+    /**
+     * Order in which homes are laid out around the center.
+     */
+    public static final ForgeConfigSpec.EnumValue<PlacementMode> PLACEMENT_STRATEGY = BUILDER
+            .comment("SPIRAL walks a square spiral outward ring by ring.",
+                    "HILBERT follows a Hilbert curve from the center into the +X/+Z quadrant; any run of consecutive homes stays in a compact patch.",
+                    "HEX walks hexagonal rings; homes keep the same spacing to their neighbours but about 15% more fit in the same area.",
+                    "Set this before the first join; homes already handed out are not moved.")
+            .defineEnum("placement_strategy", PlacementMode.SPIRAL);
+
+    /**
+     * If true, every spiral point is snapped to the middle of its own region file.
+     */
+    public static final ForgeConfigSpec.BooleanValue REGION_ALIGNED_PLACEMENT = BUILDER
+            .comment("If true, round the spacing up to whole region files (32 chunks) and put every home in the middle chunk of its own",
+                    "region file, so a player's area loads, saves and backs up as one .mca file. Set this before the first join.",
+                    "Ignored by the HEX strategy, whose rows do not line up with region files.")
+            .define("region_aligned_placement", false);
+
+    /**
+     * Radius around a home that players are expected to build in, used for region reports.
+     */
+    public static final ForgeConfigSpec.IntValue REGION_BUILD_RADIUS_CHUNKS = BUILDER
+            .comment("Radius in chunks around each home counted as the player's area by /cps_sim regions.",
+                    "Up to 15 fits inside one region file in region-aligned mode.")
+            .defineInRange("region_build_radius_chunks", 8, 0, 64);
+
+    /**
+     * Number of prescanned land indices kept ready for upcoming joins.
+     */
+    public static final ForgeConfigSpec.IntValue PRESCAN_READY_QUEUE_SIZE = BUILDER
+            .comment("Number of land spiral indices classified ahead of time on a background thread.",
+                    "Joins pop from this queue instead of sampling biomes on the server thread. 0 disables the prescanner.")
+            .defineInRange("prescan_ready_queue_size", 16, 0, 1024);
+
+    /**
+     * Number of spiral indices the prescanner classifies per parallel pass.
+     */
+    public static final ForgeConfigSpec.IntValue PRESCAN_WINDOW_SIZE = BUILDER
+            .comment("Number of upcoming spiral indices the prescanner classifies at once, split across its worker threads.")
+            .defineInRange("prescan_window_size", 1024, 64, 4096);
+
+    /**
+     * Worker threads used by the prescanner.
+     */
+    public static final ForgeConfigSpec.IntValue PRESCAN_THREADS = BUILDER
+            .comment("Worker threads for prescanner biome classification. 0 uses half the available cores.")
+            .defineInRange("prescan_threads", 0, 0, 256);
+
+    /**
+     * Number of home slots kept reserved and pre-generated ahead of new joins.
+     */
+    public static final ForgeConfigSpec.IntValue WARM_POOL_SIZE = BUILDER
+            .comment("Number of spiral slots reserved and pre-generated through Chunk By Chunk before anyone joins.",
+                    "A first join that claims a ready slot skips stasis entirely. 0 disables the warm pool.")
+            .defineInRange("warm_pool_size", 0, 0, 256);
+
+    /**
+     * Maximum warm pool generation requests started per server tick.
+     */
+    public static final ForgeConfigSpec.IntValue WARM_POOL_REFILL_PER_TICK = BUILDER
+            .comment("Maximum number of warm pool slots reserved or re-requested per tick.",
+                    "Refills only run while no player is waiting in stasis.")
+            .defineInRange("warm_pool_refill_per_tick", 1, 1, 64);
+
+    /**
+     * Hard per-tick time budget for stasis checks, in microseconds.
+     */
+    public static final ForgeConfigSpec.IntValue STASIS_TICK_BUDGET_MICROS = BUILDER
+            .comment("Time budget per tick for checking players waiting in stasis, in microseconds.",
+                    "Checks left over when the budget runs out move to the next tick. At least one check always runs.")
+            .defineInRange("stasis_tick_budget_us", 2000, 100, 50000);
+
+    /**
+     * How assignment changes are persisted.
+     */
+    public static final ForgeConfigSpec.EnumValue<PersistenceMode> PERSISTENCE_MODE = BUILDER
+            .comment("SAVED_DATA rewrites the whole assignment file on every world save after a change.",
+                    "JOURNAL appends each change to a small log and only rewrites the full file when the log is compacted.")
+            .defineEnum("persistence_mode", PersistenceMode.SAVED_DATA);
+
+    /**
+     * Whether full snapshots are encoded and written off the server thread.
+     */
+    public static final ForgeConfigSpec.BooleanValue ASYNC_SNAPSHOT_WRITES = BUILDER
+            .comment("If true, world saves only copy the assignment data on the server thread;",
+                    "NBT encoding, compression and the file write happen on a background thread (temp file + rename).")
+            .define("async_snapshot_writes", false);
+
+    /**
+     * Delay between journal group commits, in milliseconds.
+     */
+    public static final ForgeConfigSpec.IntValue JOURNAL_FLUSH_INTERVAL_MS = BUILDER
+            .comment("Journal mode: how often buffered changes are written and fsynced as one batch, in milliseconds.")
+            .defineInRange("journal_flush_interval_ms", 200, 10, 10000);
+
+    /**
+     * Number of journal records that triggers a compacting snapshot.
+     */
+    public static final ForgeConfigSpec.IntValue JOURNAL_COMPACT_THRESHOLD = BUILDER
+            .comment("Journal mode: number of logged changes after which the next world save writes a full snapshot and trims the log.")
+            .defineInRange("journal_compact_threshold", 10000, 100, Integer.MAX_VALUE);
+
+    /**
+     * Maximum journal age before a compacting snapshot is requested.
+     */
+    public static final ForgeConfigSpec.IntValue JOURNAL_SNAPSHOT_INTERVAL_MINUTES = BUILDER
+            .comment("Journal mode: maximum time between full snapshots while changes keep arriving, in minutes.")
+            .defineInRange("journal_snapshot_interval_minutes", 30, 1, 10080);
+
+    /**
+     * Radius of the chunk tickets held while a home generates.
+     */
+    public static final ForgeConfigSpec.IntValue TICKET_RADIUS = BUILDER
+            .comment("Radius of the chunk tickets that keep a generating home (stasis or warm pool) loaded.",
+                    "1 is enough for the chunk to generate fully; larger values load more of the surroundings.")
+            .defineInRange("ticket_radius", 1, 1, 8);
+
+    /**
+     * Health at or below which a player's spiral home chunk is kept loaded in case they respawn there.
+     */
+    public static final ForgeConfigSpec.DoubleValue RESPAWN_PRELOAD_HEALTH = BUILDER
+            .comment("Health (in half-hearts) at or below which a player without a usable bed gets their spiral home chunk preloaded,",
+                    "so a respawn there does not wait on disk. Players in the void or in a lethal fall are preloaded regardless.",
+                    "0 disables preloading.")
+            .defineInRange("respawn_preload_health", 6.0, 0.0, 20.0);
+
+    /**
+     * Time per tick spent assigning queued new players.
+     */
+    public static final ForgeConfigSpec.IntValue JOIN_ADMISSION_BUDGET_MICROS = BUILDER
+            .comment("Microseconds per tick spent assigning homes to queued new players. New players are parked in stasis on login",
+                    "and assigned in arrival order; at least one is assigned per tick. 0 (the default) assigns every join inline on login.")
+            .defineInRange("join_admission_budget_micros", 0, 0, 50000);
+
+    /**
+     * Maximum number of new players waiting for assignment.
+     */
+    public static final ForgeConfigSpec.IntValue JOIN_ADMISSION_QUEUE_LIMIT = BUILDER
+            .comment("Maximum number of new players waiting in the admission queue. Joins beyond this are assigned inline on login.")
+            .defineInRange("join_admission_queue_limit", 512, 1, 100000);
+
+    /**
+     * How long queued teammates wait for each other before being assigned as a party.
+     */
+    public static final ForgeConfigSpec.IntValue PARTY_JOIN_WINDOW_SECONDS = BUILDER
+            .comment("New players on the same scoreboard team who join within this many seconds of the first of them are assigned",
+                    "adjacent homes together and released from stasis at the same time. 0 (the default) disables grouping.",
+                    "Only applies while join_admission_budget_micros is above 0.")
+            .defineInRange("party_join_window_seconds", 0, 0, 300);
+
+    /**
+     * Maximum number of Chunk By Chunk generations running at once.
+     */
+    public static final ForgeConfigSpec.IntValue GENERATION_MAX_IN_FLIGHT = BUILDER
+            .comment("Maximum number of Chunk By Chunk spawn requests allowed to generate at the same time.",
+                    "Further requests wait in a queue; online players are always served before warm pool prefetch.")
+            .defineInRange("generation_max_in_flight", 4, 1, 64);
+
+    /**
+     * Maximum number of queued generations started per server tick.
+     */
+    public static final ForgeConfigSpec.IntValue GENERATION_DISPATCH_PER_TICK = BUILDER
+            .comment("Maximum number of queued Chunk By Chunk spawn requests started per tick.")
+            .defineInRange("generation_dispatch_per_tick", 1, 1, 64);
+
+    /**
+     * Ticks a dispatched generation may take before it is retried.
+     */
+    public static final ForgeConfigSpec.IntValue GENERATION_TIMEOUT_TICKS = BUILDER
+            .comment("Ticks a dispatched spawn request may take to produce ground before it is retried.")
+            .defineInRange("generation_timeout_ticks", 400, 20, 12000);
+
+    /**
+     * Number of retries for a failed or timed-out generation.
+     */
+    public static final ForgeConfigSpec.IntValue GENERATION_MAX_RETRIES = BUILDER
+            .comment("How many times a rejected or timed-out spawn request is retried (with doubling backoff) before giving up.")
+            .defineInRange("generation_max_retries", 3, 0, 16);
+
+    /**
+     * Interval between metrics JSON exports, in seconds.
+     */
+    public static final ForgeConfigSpec.IntValue METRICS_EXPORT_INTERVAL_SECONDS = BUILDER
+            .comment("How often join pipeline metrics are written to 'data/chunkpartyspreader_metrics.json' in the world folder, in seconds.",
+                    "0 disables the file; /cps_sim metrics still works.")
+            .defineInRange("metrics_export_interval_seconds", 60, 0, 86400);
+
+    /**
+     * Days offline after which a player's home index is recycled.
+     */
+    public static final ForgeConfigSpec.IntValue RECYCLE_INACTIVE_DAYS = BUILDER
+            .comment("Recycle the home slot of players who have not been online for this many days.",
+                    "Their chunk is handed to the next new player as-is; if they return they get a fresh home. 0 disables.")
+            .defineInRange("recycle_inactive_days", 0, 0, 3650);
+
+    /**
+     * Hours offline after which a home that never left stasis is recycled.
+     */
+    public static final ForgeConfigSpec.IntValue RECYCLE_ABANDONED_STASIS_HOURS = BUILDER
+            .comment("Recycle homes that never reached ground (the player timed out or left during stasis)",
+                    "once the player has been offline for this many hours. 0 disables.")
+            .defineInRange("recycle_abandoned_stasis_hours", 0, 0, 87600);
+
+    /**
+     * Minutes between automatic recycling scans.
+     */
+    public static final ForgeConfigSpec.IntValue RECYCLE_SCAN_INTERVAL_MINUTES = BUILDER
+            .comment("How often the recycling policies above are applied automatically, in minutes.",
+                    "0 means only /cps_sim purge applies them.")
+            .defineInRange("recycle_scan_interval_minutes", 60, 0, 10080);
+
     /**
      * The built configuration specification.
      * MUST be defined AFTER all the configuration values above, or the spec will be empty.
      */
     public static final ForgeConfigSpec SPEC = BUILDER.build();
 
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Persistence strategy for {@link SpreaderWorldData}.
+     */
+    public enum PersistenceMode {
+        SAVED_DATA,
+        JOURNAL
+    }
+
+    /**
+     * Placement order; each maps to a {@link PlacementStrategy}.
+     */
+    public enum PlacementMode {
+        SPIRAL,
+        HILBERT,
+        HEX
+    }
+
     /* ──────────────────────────────────────────────────────────────────────────────
      *        Constructors
      * ────────────────────────────────────────────────────────────────────────────*/
@@ -0,0 +1,283 @@
+package com.dawson.chunkpartyspreader;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for the join pipeline.
+ * Recording is a couple of uncontended atomic adds, so call sites stay on the hot path unconditionally.
+ * Values are shown by {@code /cps_sim metrics} and periodically written to a JSON file for external monitoring.
+ */
+public final class CPSMetrics {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String EXPORT_FILE = "chunkpartyspreader_metrics.json";
+
+    // --- Counters ---
+    public static final LongAdder FIRST_JOINS = new LongAdder();
+    public static final LongAdder RETURNING_JOINS = new LongAdder();
+    public static final LongAdder WARM_HANDOUTS = new LongAdder();
+    public static final LongAdder PARTIES = new LongAdder();
+    public static final LongAdder INDICES_SKIPPED = new LongAdder();
+    public static final LongAdder CBC_REQUESTS = new LongAdder();
+    public static final LongAdder CBC_RETRIES = new LongAdder();
+    public static final LongAdder CBC_GIVE_UPS = new LongAdder();
+    public static final LongAdder STASIS_RELEASES = new LongAdder();
+    public static final LongAdder STASIS_TIMEOUTS = new LongAdder();
+    public static final LongAdder TICKET_LEAKS = new LongAdder();
+    public static final LongAdder RESPAWN_CACHE_HITS = new LongAdder();
+    public static final LongAdder RESPAWN_CACHE_MISSES = new LongAdder();
+
+    // --- Histograms ---
+    public static final Histogram JOIN_MICROS = new Histogram();
+    public static final Histogram BIOME_SEARCH_MICROS = new Histogram();
+    public static final Histogram CBC_REQUEST_MICROS = new Histogram();
+    public static final Histogram TICKS_TO_GROUND = new Histogram();
+    public static final Histogram TICKS_TO_RELEASE = new Histogram();
+    public static final Histogram ADMISSION_WAIT_TICKS = new Histogram();
+
+    private static long lastExportTick = 0;
+
+    private CPSMetrics() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @return Microseconds elapsed since a {@link System#nanoTime()} reading.
+     */
+    public static long microsSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000L;
+    }
+
+    /**
+     * Writes the JSON export when the configured interval has passed. Serialization and IO run on the IO pool.
+     */
+    public static void tick(MinecraftServer server) {
+        int intervalSeconds = CPSConfig.METRICS_EXPORT_INTERVAL_SECONDS.get();
+        if (intervalSeconds <= 0) return;
+
+        long now = server.getTickCount();
+        if (now - lastExportTick < intervalSeconds * 20L) return;
+        lastExportTick = now;
+
+        JsonObject snapshot = toJson(gauges(server));
+        Path target = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(EXPORT_FILE);
+        Util.ioPool().execute(() -> export(snapshot, target));
+    }
+
+    /**
+     * @return Point-in-time values read on the server thread.
+     */
+    public static Map<String, Long> gauges(MinecraftServer server) {
+        Map<String, Long> gauges = new LinkedHashMap<>();
+        gauges.put("admission_queued", (long) JoinAdmission.queuedCount());
+        gauges.put("admission_oldest_wait_ticks", JoinAdmission.oldestWaitTicks(server));
+        gauges.put("stasis_waiting", (long) SpreaderEvents.pendingCount());
+        gauges.put("generation_in_flight", (long) GenerationQueue.inFlightCount());
+        gauges.put("generation_queued", (long) GenerationQueue.queuedCount());
+        gauges.put("tickets_live", (long) ChunkTickets.count());
+        gauges.put("respawn_preloads", (long) RespawnTargets.preloadCount());
+        gauges.put("spiral_index", (long) SpreaderWorldData.get(server.overworld()).getCurrentSpiralIndex());
+        return gauges;
+    }
+
+    /**
+     * @return Every counter by its export name, in display order.
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("first_joins", FIRST_JOINS.sum());
+        counters.put("returning_joins", RETURNING_JOINS.sum());
+        counters.put("warm_handouts", WARM_HANDOUTS.sum());
+        counters.put("parties", PARTIES.sum());
+        counters.put("indices_skipped", INDICES_SKIPPED.sum());
+        counters.put("cbc_requests", CBC_REQUESTS.sum());
+        counters.put("cbc_retries", CBC_RETRIES.sum());
+        counters.put("cbc_give_ups", CBC_GIVE_UPS.sum());
+        counters.put("stasis_releases", STASIS_RELEASES.sum());
+        counters.put("stasis_timeouts", STASIS_TIMEOUTS.sum());
+        counters.put("ticket_leaks", TICKET_LEAKS.sum());
+        counters.put("respawn_cache_hits", RESPAWN_CACHE_HITS.sum());
+        counters.put("respawn_cache_misses", RESPAWN_CACHE_MISSES.sum());
+        return counters;
+    }
+
+    /**
+     * @return Every histogram by its export name; the suffix gives the unit.
+     */
+    public static Map<String, Histogram> histograms() {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        histograms.put("join_us", JOIN_MICROS);
+        histograms.put("biome_search_us", BIOME_SEARCH_MICROS);
+        histograms.put("cbc_request_us", CBC_REQUEST_MICROS);
+        histograms.put("ground_detected_ticks", TICKS_TO_GROUND);
+        histograms.put("release_ticks", TICKS_TO_RELEASE);
+        histograms.put("admission_wait_ticks", ADMISSION_WAIT_TICKS);
+        return histograms;
+    }
+
+    public static void reset() {
+        FIRST_JOINS.reset();
+        RETURNING_JOINS.reset();
+        WARM_HANDOUTS.reset();
+        PARTIES.reset();
+        INDICES_SKIPPED.reset();
+        CBC_REQUESTS.reset();
+        CBC_RETRIES.reset();
+        CBC_GIVE_UPS.reset();
+        STASIS_RELEASES.reset();
+        STASIS_TIMEOUTS.reset();
+        TICKET_LEAKS.reset();
+        RESPAWN_CACHE_HITS.reset();
+        RESPAWN_CACHE_MISSES.reset();
+        for (Histogram histogram : histograms().values()) {
+            histogram.reset();
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static JsonObject toJson(Map<String, Long> gauges) {
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp_ms", System.currentTimeMillis());
+
+        JsonObject gaugeJson = new JsonObject();
+        gauges.forEach(gaugeJson::addProperty);
+        root.add("gauges", gaugeJson);
+
+        JsonObject counterJson = new JsonObject();
+        counters().forEach(counterJson::addProperty);
+        root.add("counters", counterJson);
+
+        JsonObject histogramJson = new JsonObject();
+        histograms().forEach((name, histogram) -> {
+            JsonObject h = new JsonObject();
+            h.addProperty("count", histogram.count());
+            h.addProperty("mean", histogram.mean());
+            h.addProperty("p50", histogram.percentile(0.50));
+            h.addProperty("p90", histogram.percentile(0.90));
+            h.addProperty("p99", histogram.percentile(0.99));
+            h.addProperty("max", histogram.max());
+            histogramJson.add(name, h);
+        });
+        root.add("histograms", histogramJson);
+        return root;
+    }
+
+    private static void export(JsonObject snapshot, Path target) {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            Files.writeString(temp, GSON.toJson(snapshot), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Failed to export metrics to {}", target, e);
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Log-linear histogram in the style of HdrHistogram: each power of two is split into 8 linear buckets,
+     * so any reported percentile is within 12.5% of the true value. Non-negative longs only.
+     */
+    public static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+        public void record(long value) {
+            long v = Math.max(0, value);
+            counts.incrementAndGet(bucketOf(v));
+            total.increment();
+            sum.add(v);
+            maximum.accumulate(v);
+        }
+
+        public long count() {
+            return total.sum();
+        }
+
+        public long max() {
+            return maximum.get();
+        }
+
+        public double mean() {
+            long n = total.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        /**
+         * @param quantile Between 0 and 1.
+         * @return The upper bound of the bucket holding the quantile, capped at the recorded maximum.
+         */
+        public long percentile(double quantile) {
+            long n = total.sum();
+            if (n == 0) return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max());
+                }
+            }
+            return max();
+        }
+
+        public void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            total.reset();
+            sum.reset();
+            maximum.reset();
+        }
+
+        private static int bucketOf(long v) {
+            if (v < SUB_COUNT) return (int) v;
+            int exponent = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+            return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_COUNT) return bucket;
+            int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+            int sub = bucket % SUB_COUNT;
+            long width = 1L << (exponent - SUB_BITS);
+            return ((long) (SUB_COUNT + sub) << (exponent - SUB_BITS)) + width - 1;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Owns every chunk ticket the mod creates.
+ * <p>
+ * Tickets use a dedicated {@link TicketType} with a lifespan, and live ones are refreshed periodically;
+ * a ticket the mod forgets about therefore expires on its own instead of keeping chunks loaded forever.
+ * On top of that, each lease is checked against its owner on every refresh and released if the owner
+ * no longer needs it, which is reported as a leak.
+ */
+public final class ChunkTickets {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int LIFESPAN_TICKS = 1200;
+    private static final int REFRESH_INTERVAL_TICKS = 200;
+
+    public static final TicketType<ChunkPos> TICKET = TicketType.create(ChunkPartySpreader.MODID,
+            Comparator.comparingLong(ChunkPos::toLong), LIFESPAN_TICKS);
+
+    /**
+     * Why a chunk is held.
+     */
+    public enum Purpose {
+        STASIS,
+        WARM_POOL,
+        VOID_CHECK,
+        RESPAWN_PRELOAD
+    }
+
+    /**
+     * One hold on a chunk.
+     *
+     * @param holder      The player UUID for stasis, void checks and respawn preloads, the slot index for the warm pool.
+     * @param radius      The radius the vanilla ticket was added with, so it is removed with the same one.
+     * @param createdTick Server tick the lease was taken.
+     */
+    public record Lease(Purpose purpose, ResourceKey<Level> dimension, long chunk, Object holder, int radius, long createdTick) {}
+
+    // Several holders may lease the same chunk for the same purpose, e.g. two players checked at world spawn.
+    private record LeaseKey(Purpose purpose, ResourceKey<Level> dimension, long chunk, Object holder) {}
+
+    private record VanillaTicket(ResourceKey<Level> dimension, long chunk, int radius) {}
+
+    private static final Map<LeaseKey, Lease> LEASES = new LinkedHashMap<>();
+    // Vanilla merges equal tickets, so two leases on the same chunk share one ticket.
+    private static final Map<VanillaTicket, Integer> REFERENCES = new HashMap<>();
+
+    private ChunkTickets() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Holds a chunk for the given purpose and holder. Acquiring a chunk the holder already holds is a no-op.
+     */
+    public static void acquire(ServerLevel level, ChunkPos chunk, Purpose purpose, Object holder) {
+        LeaseKey key = new LeaseKey(purpose, level.dimension(), chunk.toLong(), holder);
+        if (LEASES.containsKey(key)) return;
+
+        int radius = CPSConfig.TICKET_RADIUS.get();
+        LEASES.put(key, new Lease(purpose, level.dimension(), chunk.toLong(), holder, radius, level.getServer().getTickCount()));
+        if (REFERENCES.merge(new VanillaTicket(level.dimension(), chunk.toLong(), radius), 1, Integer::sum) == 1) {
+            level.getChunkSource().addRegionTicket(TICKET, chunk, radius, chunk);
+        }
+    }
+
+    /**
+     * Drops the holder's hold for the given purpose; the vanilla ticket goes once nothing else holds the chunk.
+     */
+    public static void release(ServerLevel level, ChunkPos chunk, Purpose purpose, Object holder) {
+        Lease lease = LEASES.remove(new LeaseKey(purpose, level.dimension(), chunk.toLong(), holder));
+        if (lease != null) {
+            unreference(level, lease);
+        }
+    }
+
+    /**
+     * Refreshes live tickets before their lifespan runs out and releases leases whose owner is gone.
+     */
+    public static void tick(MinecraftServer server) {
+        if (LEASES.isEmpty() || server.getTickCount() % REFRESH_INTERVAL_TICKS != 0) return;
+
+        for (Lease lease : List.copyOf(LEASES.values())) {
+            ServerLevel level = server.getLevel(lease.dimension());
+            if (level == null || !isOwned(lease)) {
+                ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Releasing leaked {} ticket at {} (holder {}, age {} ticks).",
+                        lease.purpose(), new ChunkPos(lease.chunk()), lease.holder(), server.getTickCount() - lease.createdTick());
+                LEASES.remove(new LeaseKey(lease.purpose(), lease.dimension(), lease.chunk(), lease.holder()));
+                if (level != null) {
+                    unreference(level, lease);
+                }
+                CPSMetrics.TICKET_LEAKS.increment();
+            }
+        }
+
+        // Re-adding an equal ticket only resets its creation time.
+        for (VanillaTicket ticket : REFERENCES.keySet()) {
+            ServerLevel level = server.getLevel(ticket.dimension());
+            if (level == null) continue;
+            ChunkPos chunk = new ChunkPos(ticket.chunk());
+            level.getChunkSource().addRegionTicket(TICKET, chunk, ticket.radius(), chunk);
+        }
+    }
+
+    /**
+     * Removes every ticket the mod holds. Called on shutdown.
+     */
+    public static void releaseAll(MinecraftServer server) {
+        for (VanillaTicket ticket : REFERENCES.keySet()) {
+            ServerLevel level = server.getLevel(ticket.dimension());
+            if (level == null) continue;
+            ChunkPos chunk = new ChunkPos(ticket.chunk());
+            level.getChunkSource().removeRegionTicket(TICKET, chunk, ticket.radius(), chunk);
+        }
+        REFERENCES.clear();
+        LEASES.clear();
+    }
+
+    /**
+     * @return Every live lease, oldest first.
+     */
+    public static List<Lease> leases() {
+        return new ArrayList<>(LEASES.values());
+    }
+
+    public static int count() {
+        return LEASES.size();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static boolean isOwned(Lease lease) {
+        return switch (lease.purpose()) {
+            case STASIS -> SpreaderEvents.isPending((UUID) lease.holder());
+            case WARM_POOL -> WarmPool.isGenerating((Integer) lease.holder());
+            case VOID_CHECK -> SpreaderSpawnFixes.isChecking((UUID) lease.holder());
+            case RESPAWN_PRELOAD -> RespawnTargets.isPreloading((UUID) lease.holder());
+        };
+    }
+
+    private static void unreference(ServerLevel level, Lease lease) {
+        VanillaTicket ticket = new VanillaTicket(lease.dimension(), lease.chunk(), lease.radius());
+        Integer remaining = REFERENCES.computeIfPresent(ticket, (k, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            ChunkPos chunk = new ChunkPos(lease.chunk());
+            level.getChunkSource().removeRegionTicket(TICKET, chunk, lease.radius(), chunk);
+        }
+    }
+}
@@ -2,21 +2,31 @@ package com.dawson.chunkpartyspreader;
 
 import com.mojang.authlib.GameProfile;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.commands.arguments.coordinates.ColumnPosArgument;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ColumnPos;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraftforge.common.util.FakePlayerFactory;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,6 +35,11 @@ import java.util.UUID;
 @Mod.EventBusSubscriber(modid = ChunkPartySpreader.MODID)
 public class DebugCommands {
 
+    // Upcoming spiral points compared by /cps_sim regions.
+    private static final int REGION_PREVIEW_HOMES = 1000;
+    // Lines printed by /cps_sim tickets before the rest is summarized.
+    private static final int MAX_LISTED_TICKETS = 20;
+
     @SubscribeEvent
     public static void onRegisterCommands(RegisterCommandsEvent event) {
         register(event.getDispatcher());
@@ -39,6 +54,20 @@ public class DebugCommands {
                         .then(Commands.argument("name", StringArgumentType.word())
                                 .executes(DebugCommands::simulateJoin)))
 
+                // Sub-command: /cps_sim join_storm <count> [perTick] | stop
+                .then(Commands.literal("join_storm")
+                        .then(Commands.literal("stop")
+                                .executes(DebugCommands::stopJoinStorm))
+                        .then(Commands.argument("count", IntegerArgumentType.integer(1, 100000))
+                                .executes(ctx -> startJoinStorm(ctx, 1))
+                                .then(Commands.argument("perTick", IntegerArgumentType.integer(1, 1000))
+                                        .executes(ctx -> startJoinStorm(ctx, IntegerArgumentType.getInteger(ctx, "perTick"))))))
+
+                // Sub-command: /cps_sim party <players>
+                .then(Commands.literal("party")
+                        .then(Commands.argument("players", EntityArgument.players())
+                                .executes(DebugCommands::assignParty)))
+
                 // Sub-command: /cps_sim reset_data
                 .then(Commands.literal("reset_data")
                         .executes(DebugCommands::resetData))
@@ -46,6 +75,32 @@ public class DebugCommands {
                 // Sub-command: /cps_sim status
                 .then(Commands.literal("status")
                         .executes(DebugCommands::status))
+
+                // Sub-command: /cps_sim whois [x z]
+                .then(Commands.literal("whois")
+                        .executes(DebugCommands::whoisHere)
+                        .then(Commands.argument("pos", ColumnPosArgument.columnPos())
+                                .executes(DebugCommands::whoisAt)))
+
+                // Sub-command: /cps_sim regions
+                .then(Commands.literal("regions")
+                        .executes(DebugCommands::regions))
+
+                // Sub-command: /cps_sim tickets
+                .then(Commands.literal("tickets")
+                        .executes(DebugCommands::tickets))
+
+                // Sub-command: /cps_sim metrics [reset]
+                .then(Commands.literal("metrics")
+                        .executes(DebugCommands::metrics)
+                        .then(Commands.literal("reset")
+                                .executes(DebugCommands::resetMetrics)))
+
+                // Sub-command: /cps_sim purge [preview]
+                .then(Commands.literal("purge")
+                        .executes(context -> purge(context, true))
+                        .then(Commands.literal("preview")
+                                .executes(context -> purge(context, false))))
         );
     }
 
@@ -71,10 +126,14 @@ public class DebugCommands {
                 Component.literal("UUID: " + fakeId).withStyle(ChatFormatting.GRAY), false);
 
         // --- EXECUTE LOGIC ---
+        SpreaderWorldData data = SpreaderWorldData.get(level);
+        // Offline-mode players share this UUID scheme; never flag someone who already has a home.
+        if (data.getAssignment(fakeId) == null) {
+            data.markSynthetic(fakeId);
+        }
         SpreaderEvents.processPlayerJoin(fakePlayer);
 
         // --- REPORT RESULTS ---
-        SpreaderWorldData data = SpreaderWorldData.get(level);
         BlockPos assignment = data.getAssignment(fakeId);
         boolean isPending = SpreaderEvents.isPending(fakeId);
 
@@ -109,9 +168,49 @@ public class DebugCommands {
         return 1;
     }
 
+    private static int startJoinStorm(CommandContext<CommandSourceStack> context, int perTick) {
+        int count = IntegerArgumentType.getInteger(context, "count");
+        if (!JoinStorm.start(context.getSource(), count, perTick)) {
+            context.getSource().sendFailure(Component.literal("A join storm is already running. Use /cps_sim join_storm stop first."));
+            return 0;
+        }
+
+        context.getSource().sendSuccess(() ->
+                Component.literal("Join storm started: " + count + " synthetic players at " + perTick + "/tick.").withStyle(ChatFormatting.YELLOW), true);
+        return 1;
+    }
+
+    private static int stopJoinStorm(CommandContext<CommandSourceStack> context) {
+        if (!JoinStorm.stop(context.getSource().getServer())) {
+            context.getSource().sendFailure(Component.literal("No join storm is running."));
+            return 0;
+        }
+        return 1;
+    }
+
+    private static int assignParty(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        List<ServerPlayer> players = new ArrayList<>(EntityArgument.getPlayers(context, "players"));
+        // Players still waiting in the admission queue are taken out of it and assigned here instead.
+        players.forEach(player -> JoinAdmission.cancel(player.getUUID()));
+
+        int assigned = PartyAssignment.assign(context.getSource().getServer(), players);
+        if (assigned == 0) {
+            context.getSource().sendFailure(Component.literal("None of those players are waiting for a home."));
+            return 0;
+        }
+
+        int skipped = players.size() - assigned;
+        context.getSource().sendSuccess(() ->
+                Component.literal("Assigned a party of " + assigned + " (" + skipped + " skipped: already home or in stasis).").withStyle(ChatFormatting.GOLD), true);
+        return assigned;
+    }
+
     private static int resetData(CommandContext<CommandSourceStack> context) {
         ServerLevel level = context.getSource().getLevel();
+        WarmPool.clear(level);
+        GenerationQueue.clear();
         SpreaderWorldData.get(level).reset();
+        BiomePrescanner.resync(0);
         context.getSource().sendSuccess(() ->
                 Component.literal("CPS Data has been wiped. Spiral Index reset to 0.").withStyle(ChatFormatting.RED), true);
         return 1;
@@ -124,6 +223,179 @@ public class DebugCommands {
 
         context.getSource().sendSuccess(() ->
                 Component.literal("Current Spiral Index: " + idx).withStyle(ChatFormatting.GOLD), false);
+
+        int unusable = data.getUnusableIndices().size();
+        context.getSource().sendSuccess(() ->
+                Component.literal("Known Unusable Indices: " + unusable).withStyle(ChatFormatting.GRAY), false);
+
+        long ready = data.getWarmSlots().stream().filter(SpreaderWorldData.WarmSlot::isReady).count();
+        int reserved = data.getWarmSlots().size();
+        context.getSource().sendSuccess(() ->
+                Component.literal("Warm Pool: " + ready + "/" + reserved + " ready").withStyle(ChatFormatting.GRAY), false);
+
+        PlacementPlan plan = PlacementPlan.active();
+        String planLine = plan == null ? "Seed Plan: none loaded"
+                : "Seed Plan: " + plan.remaining(idx) + "/" + plan.size() + " planned homes left (covers 0.." + (plan.end() - 1) + ")";
+        context.getSource().sendSuccess(() -> Component.literal(planLine).withStyle(ChatFormatting.GRAY), false);
+
+        int free = data.getFreeIndexCount();
+        context.getSource().sendSuccess(() ->
+                Component.literal("Recycled Slots Available: " + free).withStyle(ChatFormatting.GRAY), false);
+
+        int generating = GenerationQueue.inFlightCount();
+        int queued = GenerationQueue.queuedCount();
+        context.getSource().sendSuccess(() ->
+                Component.literal("Generation: " + generating + " in flight, " + queued + " queued").withStyle(ChatFormatting.GRAY), false);
         return 1;
     }
-}
\ No newline at end of file
+
+    private static int purge(CommandContext<CommandSourceStack> context, boolean apply) {
+        CommandSourceStack source = context.getSource();
+        boolean started = SlotRecycler.scan(source.getServer(), true, apply, counts -> {
+            int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+            String verb = apply ? "Recycled " : "Would recycle ";
+            source.sendSuccess(() -> Component.literal(verb + total + " home slots " + counts).withStyle(ChatFormatting.GOLD), apply);
+
+            int free = SpreaderWorldData.get(source.getServer().overworld()).getFreeIndexCount();
+            source.sendSuccess(() -> Component.literal("Recycled Slots Available: " + free).withStyle(ChatFormatting.GRAY), false);
+        });
+
+        if (!started) {
+            source.sendFailure(Component.literal("A recycling scan is already running."));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Scanning assignments...").withStyle(ChatFormatting.GRAY), false);
+        return 1;
+    }
+
+    private static int metrics(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        source.sendSuccess(() -> Component.literal("--- CPS Metrics ---").withStyle(ChatFormatting.GOLD), false);
+
+        CPSMetrics.gauges(source.getServer()).forEach((name, value) ->
+                source.sendSuccess(() -> Component.literal(name + ": " + value).withStyle(ChatFormatting.AQUA), false));
+        CPSMetrics.counters().forEach((name, value) ->
+                source.sendSuccess(() -> Component.literal(name + ": " + value).withStyle(ChatFormatting.GRAY), false));
+        CPSMetrics.histograms().forEach((name, histogram) -> {
+            String line = String.format("%s: n=%d mean=%.1f p50=%d p90=%d p99=%d max=%d", name, histogram.count(), histogram.mean(),
+                    histogram.percentile(0.50), histogram.percentile(0.90), histogram.percentile(0.99), histogram.max());
+            source.sendSuccess(() -> Component.literal(line).withStyle(ChatFormatting.YELLOW), false);
+        });
+        return 1;
+    }
+
+    private static int resetMetrics(CommandContext<CommandSourceStack> context) {
+        CPSMetrics.reset();
+        context.getSource().sendSuccess(() ->
+                Component.literal("CPS metrics have been reset.").withStyle(ChatFormatting.RED), true);
+        return 1;
+    }
+
+    private static int whoisHere(CommandContext<CommandSourceStack> context) {
+        BlockPos pos = BlockPos.containing(context.getSource().getPosition());
+        return whois(context, new ChunkPos(pos));
+    }
+
+    private static int whoisAt(CommandContext<CommandSourceStack> context) {
+        ColumnPos column = ColumnPosArgument.getColumnPos(context, "pos");
+        return whois(context, new ChunkPos(SectionPos.blockToSectionCoord(column.x()), SectionPos.blockToSectionCoord(column.z())));
+    }
+
+    private static int whois(CommandContext<CommandSourceStack> context, ChunkPos chunk) {
+        ServerLevel level = context.getSource().getLevel();
+        SpreaderWorldData data = SpreaderWorldData.get(level);
+        UUID owner = data.getOwner(chunk);
+
+        if (owner == null) {
+            context.getSource().sendSuccess(() ->
+                    Component.literal("Chunk " + chunk + " is not anyone's home.").withStyle(ChatFormatting.YELLOW), false);
+            return 0;
+        }
+
+        String name = context.getSource().getServer().getProfileCache().get(owner)
+                .map(GameProfile::getName)
+                .orElse("Unknown");
+        BlockPos home = data.getAssignment(owner);
+        int index = SpiralLayout.fromConfig().indexForChunk(chunk);
+        String indexText = index >= 0 ? String.valueOf(index) : "off-grid";
+
+        context.getSource().sendSuccess(() ->
+                Component.literal("Chunk " + chunk + " belongs to " + name).withStyle(ChatFormatting.GOLD), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal("UUID: " + owner + " | Home: " + home.toShortString() + " | Spiral Index: " + indexText).withStyle(ChatFormatting.GRAY), false);
+        return 1;
+    }
+
+    private static int tickets(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        long now = source.getServer().getTickCount();
+        List<ChunkTickets.Lease> leases = ChunkTickets.leases();
+
+        source.sendSuccess(() -> Component.literal("--- Chunk Tickets: " + leases.size() + " live, "
+                + CPSMetrics.TICKET_LEAKS.sum() + " leaks released ---").withStyle(ChatFormatting.GOLD), false);
+        for (int i = 0; i < Math.min(leases.size(), MAX_LISTED_TICKETS); i++) {
+            ChunkTickets.Lease lease = leases.get(i);
+            String line = String.format("%s %s r=%d age %.1fs holder %s", lease.purpose(), new ChunkPos(lease.chunk()),
+                    lease.radius(), (now - lease.createdTick()) / 20.0, lease.holder());
+            source.sendSuccess(() -> Component.literal(line).withStyle(ChatFormatting.GRAY), false);
+        }
+        if (leases.size() > MAX_LISTED_TICKETS) {
+            int hidden = leases.size() - MAX_LISTED_TICKETS;
+            source.sendSuccess(() -> Component.literal("... and " + hidden + " more").withStyle(ChatFormatting.GRAY), false);
+        }
+        return leases.size();
+    }
+
+    private static int regions(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        SpreaderWorldData data = SpreaderWorldData.get(source.getLevel());
+        int radius = CPSConfig.REGION_BUILD_RADIUS_CHUNKS.get();
+
+        // --- Existing Homes ---
+        LongOpenHashSet touched = new LongOpenHashSet();
+        int[] homes = {0, 0}; // all, spanning more than one region file
+        data.forEachAssignment((most, least, packedPos) -> {
+            int cx = SectionPos.blockToSectionCoord(BlockPos.getX(packedPos));
+            int cz = SectionPos.blockToSectionCoord(BlockPos.getZ(packedPos));
+            int spanX = SpiralCalculator.regionSpan(cx, radius);
+            int spanZ = SpiralCalculator.regionSpan(cz, radius);
+            int minRegionX = Math.floorDiv(cx - radius, SpiralCalculator.REGION_CHUNKS);
+            int minRegionZ = Math.floorDiv(cz - radius, SpiralCalculator.REGION_CHUNKS);
+            for (int dx = 0; dx < spanX; dx++) {
+                for (int dz = 0; dz < spanZ; dz++) {
+                    touched.add(ChunkPos.asLong(minRegionX + dx, minRegionZ + dz));
+                }
+            }
+            homes[0]++;
+            if (spanX * spanZ > 1) homes[1]++;
+        });
+
+        source.sendSuccess(() -> Component.literal("--- Region Files (build radius " + radius + " chunks) ---").withStyle(ChatFormatting.GOLD), false);
+        source.sendSuccess(() -> Component.literal("Homes: " + homes[0] + " | Region files touched: " + touched.size()
+                + " | Homes spanning several files: " + homes[1]).withStyle(ChatFormatting.AQUA), false);
+
+        // --- Layout Comparison for the Next Homes ---
+        SpiralLayout current = SpiralLayout.fromConfig();
+        int next = data.getCurrentSpiralIndex();
+        String currentAvg = String.format("%.2f", averageRegionsPerHome(current, next, radius));
+        String alignedAvg = String.format("%.2f", averageRegionsPerHome(current.regionAligned(), next, radius));
+        source.sendSuccess(() -> Component.literal("Next " + REGION_PREVIEW_HOMES + " homes: " + currentAvg + " files/home with the current layout, "
+                + alignedAvg + " region-aligned").withStyle(ChatFormatting.GRAY), false);
+        if (radius > SpiralCalculator.MAX_REGION_RADIUS) {
+            source.sendSuccess(() -> Component.literal("A radius above " + SpiralCalculator.MAX_REGION_RADIUS
+                    + " chunks cannot fit in one region file.").withStyle(ChatFormatting.YELLOW), false);
+        }
+        return 1;
+    }
+
+    private static double averageRegionsPerHome(SpiralLayout layout, int startIndex, int radius) {
+        PlacementStrategy.Cursor cursor = layout.cursor(startIndex);
+        long total = 0;
+        for (int i = 0; i < REGION_PREVIEW_HOMES; i++) {
+            ChunkPos chunk = layout.chunkAt(cursor);
+            total += (long) SpiralCalculator.regionSpan(chunk.x, radius) * SpiralCalculator.regionSpan(chunk.z, radius);
+            cursor.next();
+        }
+        return (double) total / REGION_PREVIEW_HOMES;
+    }
+}
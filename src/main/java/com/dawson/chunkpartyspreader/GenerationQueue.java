@@ -0,0 +1,295 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraftforge.fml.ModList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Throttled front end for Chunk By Chunk spawn requests.
+ * Requests are dispatched in priority order (online players before warm pool prefetch), with a cap on how
+ * many may be generating at once and how many are started per tick. Failed or timed-out requests are retried
+ * with exponential backoff. A batch (one party's homes) shares a queue position and is dispatched together.
+ */
+public final class GenerationQueue {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int BASE_BACKOFF_TICKS = 40;
+
+    /**
+     * Dispatch priority; lower ordinal goes first.
+     */
+    public enum Priority {
+        PLAYER,
+        PREFETCH
+    }
+
+    private static class Request {
+        final ChunkPos chunk;
+        final long sequence;
+        final long batch; // -1 when submitted alone
+        Priority priority;
+        int attempts = 0;
+        long notBeforeTick = 0;
+        long dispatchTick = 0;
+
+        Request(ChunkPos chunk, Priority priority, long sequence, long batch) {
+            this.chunk = chunk;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.batch = batch;
+        }
+    }
+
+    private static final Comparator<Request> ORDER = Comparator
+            .comparingInt((Request r) -> r.priority.ordinal())
+            .thenComparingLong(r -> r.sequence);
+
+    private static final PriorityQueue<Request> QUEUED = new PriorityQueue<>(ORDER);
+    private static final Long2ObjectOpenHashMap<Request> QUEUED_BY_CHUNK = new Long2ObjectOpenHashMap<>();
+    private static final Long2ObjectOpenHashMap<Request> IN_FLIGHT = new Long2ObjectOpenHashMap<>();
+    private static long nextSequence = 0;
+
+    private GenerationQueue() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Queues a chunk for generation. A chunk that is already queued keeps its place but may be promoted;
+     * a chunk that is already generating is left alone.
+     */
+    public static void submit(ChunkPos chunk, Priority priority) {
+        if (!ModList.get().isLoaded("chunkbychunk")) return;
+
+        long key = chunk.toLong();
+        if (IN_FLIGHT.containsKey(key)) return;
+
+        Request queued = QUEUED_BY_CHUNK.get(key);
+        if (queued != null) {
+            if (priority.ordinal() < queued.priority.ordinal()) {
+                QUEUED.remove(queued);
+                queued.priority = priority;
+                queued.notBeforeTick = 0;
+                QUEUED.add(queued);
+            }
+            return;
+        }
+
+        Request request = new Request(chunk, priority, nextSequence++, -1);
+        QUEUED.add(request);
+        QUEUED_BY_CHUNK.put(key, request);
+    }
+
+    /**
+     * Queues several chunks as one batch. The batch takes a single place in the queue, and once its first chunk is
+     * dispatched the rest follow in the same tick, counting once against the per-tick budget (the in-flight cap still applies).
+     * Chunks that are already queued or generating are handled as by {@link #submit}.
+     */
+    public static void submitBatch(List<ChunkPos> chunks, Priority priority) {
+        if (!ModList.get().isLoaded("chunkbychunk")) return;
+
+        long sequence = nextSequence++;
+        for (ChunkPos chunk : chunks) {
+            long key = chunk.toLong();
+            if (IN_FLIGHT.containsKey(key) || QUEUED_BY_CHUNK.containsKey(key)) {
+                submit(chunk, priority);
+                continue;
+            }
+
+            Request request = new Request(chunk, priority, sequence, sequence);
+            QUEUED.add(request);
+            QUEUED_BY_CHUNK.put(key, request);
+        }
+    }
+
+    /**
+     * @return True if the chunk is waiting for dispatch or currently generating.
+     */
+    public static boolean isPending(ChunkPos chunk) {
+        long key = chunk.toLong();
+        return QUEUED_BY_CHUNK.containsKey(key) || IN_FLIGHT.containsKey(key);
+    }
+
+    /**
+     * @return True if the chunk is still waiting for a free generation slot.
+     */
+    public static boolean isQueued(ChunkPos chunk) {
+        return QUEUED_BY_CHUNK.containsKey(chunk.toLong());
+    }
+
+    public static int queuedCount() {
+        return QUEUED.size();
+    }
+
+    public static int inFlightCount() {
+        return IN_FLIGHT.size();
+    }
+
+    /**
+     * Drops every request. Used on shutdown and when the saved data is wiped.
+     */
+    public static void clear() {
+        QUEUED.clear();
+        QUEUED_BY_CHUNK.clear();
+        IN_FLIGHT.clear();
+    }
+
+    /**
+     * Retires finished or timed-out requests, then dispatches queued ones within the configured limits.
+     */
+    public static void tick(MinecraftServer server) {
+        if (QUEUED.isEmpty() && IN_FLIGHT.isEmpty()) return;
+
+        ServerLevel level = server.overworld();
+        long now = server.getTickCount();
+
+        // --- 1. Retire In-Flight Requests ---
+        int timeoutTicks = CPSConfig.GENERATION_TIMEOUT_TICKS.get();
+        Iterator<Request> it = IN_FLIGHT.values().iterator();
+        while (it.hasNext()) {
+            Request request = it.next();
+            if (isGenerated(level, request.chunk)) {
+                it.remove();
+            } else if (now - request.dispatchTick > timeoutTicks) {
+                it.remove();
+                ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Generation of {} timed out.", request.chunk);
+                retry(request, now);
+            }
+        }
+
+        // --- 2. Dispatch Queued Requests ---
+        int maxInFlight = CPSConfig.GENERATION_MAX_IN_FLIGHT.get();
+        int budget = CPSConfig.GENERATION_DISPATCH_PER_TICK.get();
+
+        while (budget > 0 && IN_FLIGHT.size() < maxInFlight && !QUEUED.isEmpty()) {
+            Request head = QUEUED.peek();
+            if (head.notBeforeTick > now) {
+                // Backing off. Lower-priority work behind it may still go.
+                if (!dispatchFirstReady(level, now)) break;
+                budget--;
+                continue;
+            }
+
+            QUEUED.poll();
+            QUEUED_BY_CHUNK.remove(head.chunk.toLong());
+            dispatch(level, head, now);
+            if (head.batch >= 0) {
+                dispatchRestOfBatch(level, head.batch, maxInFlight, now);
+            }
+            budget--;
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Slow path used while the head of the queue is backing off.
+     *
+     * @return True if a request was dispatched.
+     */
+    private static boolean dispatchFirstReady(ServerLevel level, long now) {
+        Request best = null;
+        for (Request request : QUEUED) {
+            if (request.notBeforeTick <= now && (best == null || ORDER.compare(request, best) < 0)) {
+                best = request;
+            }
+        }
+        if (best == null) return false;
+
+        QUEUED.remove(best);
+        QUEUED_BY_CHUNK.remove(best.chunk.toLong());
+        dispatch(level, best, now);
+        return true;
+    }
+
+    /**
+     * Dispatches the ready, still-queued members of a batch whose first member just went out.
+     */
+    private static void dispatchRestOfBatch(ServerLevel level, long batch, int maxInFlight, long now) {
+        List<Request> members = new ArrayList<>();
+        for (Request request : QUEUED) {
+            if (request.batch == batch && request.notBeforeTick <= now) {
+                members.add(request);
+            }
+        }
+
+        for (Request request : members) {
+            if (IN_FLIGHT.size() >= maxInFlight) break;
+            QUEUED.remove(request);
+            QUEUED_BY_CHUNK.remove(request.chunk.toLong());
+            dispatch(level, request, now);
+        }
+    }
+
+    private static void dispatch(ServerLevel level, Request request, long now) {
+        // Already filled (e.g. a previous attempt succeeded late); nothing to do.
+        if (isGenerated(level, request.chunk)) return;
+
+        BlockPos center = new BlockPos(request.chunk.getMinBlockX() + 8, 320, request.chunk.getMinBlockZ() + 8);
+        request.attempts++;
+        request.dispatchTick = now;
+
+        boolean accepted;
+        try {
+            long start = System.nanoTime();
+            accepted = ChunkByChunkCompat.generateChunk(level, center);
+            CPSMetrics.CBC_REQUEST_MICROS.record(CPSMetrics.microsSince(start));
+            CPSMetrics.CBC_REQUESTS.increment();
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - CBC request for {} ({}, attempt {}) accepted: {}",
+                    request.chunk, request.priority, request.attempts, accepted);
+        } catch (Exception e) {
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - API execution failed", e);
+            accepted = false;
+        }
+
+        if (accepted) {
+            IN_FLIGHT.put(request.chunk.toLong(), request);
+        } else {
+            retry(request, now);
+        }
+    }
+
+    private static void retry(Request request, long now) {
+        if (request.attempts > CPSConfig.GENERATION_MAX_RETRIES.get()) {
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Giving up on generating {} after {} attempts.", request.chunk, request.attempts);
+            CPSMetrics.CBC_GIVE_UPS.increment();
+            return;
+        }
+
+        CPSMetrics.CBC_RETRIES.increment();
+        long backoff = (long) BASE_BACKOFF_TICKS << Math.min(request.attempts - 1, 10);
+        request.notBeforeTick = now + backoff;
+        QUEUED.add(request);
+        QUEUED_BY_CHUNK.put(request.chunk.toLong(), request);
+    }
+
+    /**
+     * Completion check on an already-loaded chunk; never forces a load.
+     */
+    private static boolean isGenerated(ServerLevel level, ChunkPos chunk) {
+        LevelChunk loaded = level.getChunkSource().getChunkNow(chunk.x, chunk.z);
+        if (loaded == null) return false;
+
+        int minBuild = level.getMinBuildHeight();
+        if (loaded.getHeight(Heightmap.Types.WORLD_SURFACE, 8, 8) <= minBuild + 1) return false;
+
+        return SurfaceFinder.findSurfaceY(loaded, chunk.getMinBlockX() + 8, chunk.getMinBlockZ() + 8) > minBuild + 1;
+    }
+}
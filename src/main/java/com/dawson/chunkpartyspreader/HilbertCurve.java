@@ -0,0 +1,124 @@
+package com.dawson.chunkpartyspreader;
+
+/**
+ * Homes along a Hilbert curve filling the quadrant on the positive side of the center.
+ * <p>
+ * Every aligned block of 4^k consecutive indices fills a 2^k square, so any run of homes stays in a compact
+ * patch and loaded chunks and region files cluster instead of spreading along a ring.
+ * The curve has a fixed order large enough for the whole int index range, so its orientation never changes as it grows.
+ */
+public final class HilbertCurve implements PlacementStrategy {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public static final HilbertCurve INSTANCE = new HilbertCurve();
+
+    // 4^16 cells cover every non-negative int index.
+    private static final int ORDER = 16;
+    private static final int SIDE = 1 << ORDER;
+
+    private HilbertCurve() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Override
+    public SpiralCalculator.IntPoint unitForIndex(int index) {
+        long d = Math.max(index, 0);
+        int x = 0;
+        int z = 0;
+        for (int s = 1; s < SIDE; s <<= 1) {
+            int rx = (int) (1 & (d >>> 1));
+            int rz = (int) (1 & (d ^ rx));
+            // Rotate the sub-square so the curve enters and leaves it at the right corners.
+            if (rz == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    z = s - 1 - z;
+                }
+                int t = x;
+                x = z;
+                z = t;
+            }
+            x += s * rx;
+            z += s * rz;
+            d >>>= 2;
+        }
+        return new SpiralCalculator.IntPoint(x, z);
+    }
+
+    @Override
+    public int indexForUnit(int x, int z) {
+        if (x < 0 || z < 0 || x >= SIDE || z >= SIDE) return -1;
+
+        long d = 0;
+        for (int s = SIDE >>> 1; s > 0; s >>>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int rz = (z & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ rz);
+            if (rz == 0) {
+                if (rx == 1) {
+                    x = SIDE - 1 - x;
+                    z = SIDE - 1 - z;
+                }
+                int t = x;
+                x = z;
+                z = t;
+            }
+        }
+        return d > Integer.MAX_VALUE ? -1 : (int) d;
+    }
+
+    @Override
+    public PlacementStrategy.Cursor cursor(int startIndex) {
+        return new Cursor(startIndex);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Recomputes each point from its index; a step costs one pass over the curve's {@value #ORDER} levels.
+     */
+    private static final class Cursor implements PlacementStrategy.Cursor {
+        private int index;
+        private int x;
+        private int z;
+
+        Cursor(int startIndex) {
+            seek(startIndex);
+        }
+
+        @Override
+        public void seek(int target) {
+            index = Math.max(target, 0);
+            SpiralCalculator.IntPoint p = INSTANCE.unitForIndex(index);
+            x = p.x();
+            z = p.z();
+        }
+
+        @Override
+        public void next() {
+            seek(index + 1);
+        }
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public int x() {
+            return x;
+        }
+
+        @Override
+        public int z() {
+            return z;
+        }
+    }
+}
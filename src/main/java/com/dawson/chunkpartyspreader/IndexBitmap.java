@@ -0,0 +1,244 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative int indices, laid out like a Roaring bitmap.
+ * Indices are grouped by their high 16 bits; each group is a sorted char array while sparse
+ * and a 64 Kbit bitmap once it holds more than {@value #ARRAY_MAX} entries.
+ * Serialized as (start, length) runs, which stay small for the long stretches oceans produce.
+ * Not thread-safe.
+ */
+public final class IndexBitmap {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int CONTAINER_SIZE = 1 << 16;
+    private static final int WORDS = CONTAINER_SIZE / 64;
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    // High 16 bits -> container for the low 16 bits.
+    private final Int2ObjectOpenHashMap<Container> containers = new Int2ObjectOpenHashMap<>();
+    private int size;
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return True if the index was not already present.
+     */
+    public boolean add(int index) {
+        if (index < 0) throw new IllegalArgumentException("Negative index " + index);
+
+        Container container = containers.computeIfAbsent(index >>> 16, k -> new Container());
+        if (container.add(index & 0xFFFF)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds {@code length} consecutive indices starting at {@code start}.
+     */
+    public void addRange(int start, int length) {
+        for (int i = 0; i < length; i++) {
+            add(start + i);
+        }
+    }
+
+    public boolean contains(int index) {
+        if (index < 0) return false;
+        Container container = containers.get(index >>> 16);
+        return container != null && container.contains(index & 0xFFFF);
+    }
+
+    /**
+     * @return The smallest index at or after {@code from} that is not in the set.
+     */
+    public int nextClear(int from) {
+        int index = Math.max(0, from);
+        while (true) {
+            Container container = containers.get(index >>> 16);
+            if (container == null) return index;
+
+            int low = container.nextClear(index & 0xFFFF);
+            if (low < CONTAINER_SIZE) {
+                return (index & ~0xFFFF) | low;
+            }
+            // Whole remainder of this group is set; continue in the next one.
+            index = ((index >>> 16) + 1) << 16;
+        }
+    }
+
+    public void clear() {
+        containers.clear();
+        size = 0;
+    }
+
+    /**
+     * @return The set as ascending, non-adjacent (start, length) pairs.
+     */
+    public int[] toRuns() {
+        int[] keys = containers.keySet().toIntArray();
+        Arrays.sort(keys);
+
+        IntArrayList runs = new IntArrayList();
+        int runStart = -1;
+        int runEnd = -1; // exclusive
+
+        for (int key : keys) {
+            Container container = containers.get(key);
+            int base = key << 16;
+            for (int low = container.nextSet(0); low < CONTAINER_SIZE; low = container.nextSet(low + 1)) {
+                int index = base | low;
+                if (index == runEnd) {
+                    runEnd++;
+                } else {
+                    if (runStart >= 0) {
+                        runs.add(runStart);
+                        runs.add(runEnd - runStart);
+                    }
+                    runStart = index;
+                    runEnd = index + 1;
+                }
+            }
+        }
+        if (runStart >= 0) {
+            runs.add(runStart);
+            runs.add(runEnd - runStart);
+        }
+        return runs.toIntArray();
+    }
+
+    /**
+     * Replaces the contents with the runs produced by {@link #toRuns()}.
+     */
+    public void loadRuns(int[] runs) {
+        clear();
+        for (int i = 0; i + 1 < runs.length; i += 2) {
+            addRange(runs[i], runs[i + 1]);
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * The low 16 bits of one group: a sorted array while small, a bitmap once dense.
+     */
+    private static final class Container {
+        private char[] array = new char[4];
+        private int cardinality;
+        private long[] bits;
+
+        boolean add(int low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                int word = low >>> 6;
+                if ((bits[word] & mask) != 0) return false;
+                bits[word] |= mask;
+                cardinality++;
+                return true;
+            }
+
+            int pos = Arrays.binarySearch(array, 0, cardinality, (char) low);
+            if (pos >= 0) return false;
+
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(low);
+            }
+
+            int insert = -pos - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, array.length * 2));
+            }
+            System.arraycopy(array, insert, array, insert + 1, cardinality - insert);
+            array[insert] = (char) low;
+            cardinality++;
+            return true;
+        }
+
+        boolean contains(int low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, (char) low) >= 0;
+        }
+
+        /**
+         * @return The first absent value at or after {@code low}, or {@link #CONTAINER_SIZE} if there is none.
+         */
+        int nextClear(int low) {
+            if (bits != null) {
+                int word = low >>> 6;
+                long free = ~bits[word] & (-1L << low);
+                while (free == 0) {
+                    if (++word == WORDS) return CONTAINER_SIZE;
+                    free = ~bits[word];
+                }
+                return (word << 6) + Long.numberOfTrailingZeros(free);
+            }
+
+            int pos = Arrays.binarySearch(array, 0, cardinality, (char) low);
+            if (pos < 0) return low;
+
+            int value = low;
+            while (pos < cardinality && array[pos] == value) {
+                pos++;
+                value++;
+            }
+            return value;
+        }
+
+        /**
+         * @return The first present value at or after {@code low}, or {@link #CONTAINER_SIZE} if there is none.
+         */
+        int nextSet(int low) {
+            if (low >= CONTAINER_SIZE) return CONTAINER_SIZE;
+
+            if (bits != null) {
+                int word = low >>> 6;
+                long set = bits[word] & (-1L << low);
+                while (set == 0) {
+                    if (++word == WORDS) return CONTAINER_SIZE;
+                    set = bits[word];
+                }
+                return (word << 6) + Long.numberOfTrailingZeros(set);
+            }
+
+            int pos = Arrays.binarySearch(array, 0, cardinality, (char) low);
+            if (pos < 0) pos = -pos - 1;
+            return pos < cardinality ? array[pos] : CONTAINER_SIZE;
+        }
+
+        private void toBitmap() {
+            bits = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                int low = array[i];
+                bits[low >>> 6] |= 1L << low;
+            }
+            array = null;
+        }
+    }
+}
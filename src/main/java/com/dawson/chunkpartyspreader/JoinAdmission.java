@@ -0,0 +1,180 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.scores.Team;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Admission stage in front of {@link SpreaderEvents#processPlayerJoin}.
+ * <p>
+ * A player without a home is parked in stasis the moment they log in, and their assignment
+ * (spiral search, ticket, CBC request, teleport) runs from a FIFO queue drained under a per-tick time budget.
+ * A burst of logins after a restart therefore spreads over several ticks instead of stalling one.
+ * Returning players and joins past the queue limit are still handled inline.
+ * <p>
+ * Players on a scoreboard team are held for the party join window so teammates logging in together
+ * are assigned as one {@link PartyAssignment}.
+ */
+public final class JoinAdmission {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @param team Scoreboard team name at login, or null.
+     */
+    private record Admission(ServerPlayer player, long enqueuedTick, String team) {}
+
+    private static final Map<UUID, Admission> QUEUE = new LinkedHashMap<>();
+
+    private JoinAdmission() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Parks and queues a new player, or runs the join inline when queueing does not apply.
+     */
+    public static void admit(ServerPlayer player) {
+        MinecraftServer server = player.server;
+        UUID uuid = player.getUUID();
+        int budget = CPSConfig.JOIN_ADMISSION_BUDGET_MICROS.get();
+
+        if (budget <= 0 || SpreaderWorldData.get(server.overworld()).getAssignment(uuid) != null) {
+            SpreaderEvents.processPlayerJoin(player);
+            return;
+        }
+        if (QUEUE.size() >= CPSConfig.JOIN_ADMISSION_QUEUE_LIMIT.get()) {
+            ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Admission queue is full ({}). Assigning {} inline.",
+                    QUEUE.size(), player.getName().getString());
+            SpreaderEvents.processPlayerJoin(player);
+            return;
+        }
+
+        park(player);
+        Team team = player.getTeam();
+        QUEUE.put(uuid, new Admission(player, server.getTickCount(), team != null ? team.getName() : null));
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Queued {} for assignment (position {}).", player.getName().getString(), QUEUE.size());
+    }
+
+    /**
+     * Assigns queued players in arrival order until this tick's budget is spent. At least one is served per tick.
+     * Team members still inside the party join window are skipped; once the first one's window closes,
+     * every queued teammate is assigned with them.
+     */
+    public static void tick(MinecraftServer server) {
+        if (QUEUE.isEmpty()) return;
+
+        long budgetNanos = CPSConfig.JOIN_ADMISSION_BUDGET_MICROS.get() * 1000L;
+        long windowTicks = CPSConfig.PARTY_JOIN_WINDOW_SECONDS.get() * 20L;
+        long now = server.getTickCount();
+        long start = System.nanoTime();
+        boolean served = false;
+
+        for (Admission admission : List.copyOf(QUEUE.values())) {
+            if (served && System.nanoTime() - start >= budgetNanos) break;
+
+            ServerPlayer player = admission.player();
+            if (QUEUE.get(player.getUUID()) != admission) continue; // Already taken with their party
+            if (player.isRemoved()) {
+                QUEUE.remove(player.getUUID());
+                continue;
+            }
+
+            List<ServerPlayer> batch = new ArrayList<>();
+            if (windowTicks > 0 && admission.team() != null) {
+                if (now - admission.enqueuedTick() < windowTicks) continue;
+                for (Admission other : List.copyOf(QUEUE.values())) {
+                    if (admission.team().equals(other.team()) && !other.player().isRemoved()) {
+                        batch.add(take(other, now));
+                    }
+                }
+                PartyAssignment.assign(server, batch);
+            } else {
+                batch.add(take(admission, now));
+                SpreaderEvents.processPlayerJoin(player);
+            }
+            served = true;
+
+            // A ready warm slot places the player without stasis; synthetic storm players are told here instead.
+            for (ServerPlayer member : batch) {
+                if (!SpreaderEvents.isPending(member.getUUID())) {
+                    JoinStorm.onStasisEnded(member.getUUID(), true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops a queued player, e.g. on logout. Their parked state is undone so it is not saved with them.
+     *
+     * @return True if the player was queued.
+     */
+    public static boolean cancel(UUID uuid) {
+        Admission admission = QUEUE.remove(uuid);
+        if (admission == null) return false;
+        unpark(admission.player());
+        return true;
+    }
+
+    public static boolean isQueued(UUID uuid) {
+        return QUEUE.containsKey(uuid);
+    }
+
+    public static int queuedCount() {
+        return QUEUE.size();
+    }
+
+    /**
+     * @return Ticks the oldest queued player has been waiting, or 0 if the queue is empty.
+     */
+    public static long oldestWaitTicks(MinecraftServer server) {
+        if (QUEUE.isEmpty()) return 0;
+        return server.getTickCount() - QUEUE.values().iterator().next().enqueuedTick();
+    }
+
+    public static void clear() {
+        QUEUE.clear();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Holds the player in the sky where they logged in, the same way stasis does over a home.
+     * The stasis tag also keeps the void check away from them.
+     */
+    private static void park(ServerPlayer player) {
+        player.addTag(SpreaderEvents.TAG_WAITING);
+        player.setNoGravity(true);
+        player.setDeltaMovement(Vec3.ZERO);
+        player.fallDistance = 0.0f;
+        player.teleportTo(player.serverLevel(), player.getX(), 320, player.getZ(), player.getYRot(), player.getXRot());
+    }
+
+    /**
+     * Removes an entry from the queue and readies the player for assignment.
+     */
+    private static ServerPlayer take(Admission admission, long now) {
+        ServerPlayer player = admission.player();
+        QUEUE.remove(player.getUUID());
+        CPSMetrics.ADMISSION_WAIT_TICKS.record(now - admission.enqueuedTick());
+        unpark(player);
+        return player;
+    }
+
+    private static void unpark(ServerPlayer player) {
+        player.removeTag(SpreaderEvents.TAG_WAITING);
+        player.setNoGravity(false);
+    }
+}
@@ -0,0 +1,235 @@
+package com.dawson.chunkpartyspreader;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.common.util.FakePlayer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Load generator behind {@code /cps_sim join_storm}.
+ * Pushes synthetic players through the real join, generation and stasis pipeline at a fixed rate,
+ * reports throughput, join-to-release latency and tick time, then removes every trace of them.
+ */
+public final class JoinStorm {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static Storm active;
+
+    private static class Storm {
+        final CommandSourceStack source;
+        final int total;
+        final int perTick;
+        final int startIndex;
+        final float baselineMspt;
+        final long startNanos = System.nanoTime();
+
+        // Every synthetic player of this storm, and the join time of those still waiting.
+        final Map<UUID, FakePlayer> players = new LinkedHashMap<>();
+        final Map<UUID, Long> waitingSince = new HashMap<>();
+
+        final CPSMetrics.Histogram latencyMicros = new CPSMetrics.Histogram();
+        final CPSMetrics.Histogram tickMicros = new CPSMetrics.Histogram();
+        int dispatched = 0;
+        int released = 0;
+        int timeouts = 0;
+
+        Storm(CommandSourceStack source, int total, int perTick, int startIndex, float baselineMspt) {
+            this.source = source;
+            this.total = total;
+            this.perTick = perTick;
+            this.startIndex = startIndex;
+            this.baselineMspt = baselineMspt;
+        }
+    }
+
+    private JoinStorm() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public static boolean isRunning() {
+        return active != null;
+    }
+
+    /**
+     * Starts a storm. Joins begin on the next server tick.
+     *
+     * @return False if a storm is already running.
+     */
+    public static boolean start(CommandSourceStack source, int count, int perTick) {
+        if (active != null) return false;
+
+        MinecraftServer server = source.getServer();
+        int startIndex = SpreaderWorldData.get(server.overworld()).getCurrentSpiralIndex();
+        active = new Storm(source, count, perTick, startIndex, server.getAverageTickTime());
+
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Join storm started: {} players at {}/tick from index {}.", count, perTick, startIndex);
+        return true;
+    }
+
+    /**
+     * Ends the running storm early, reports what was measured so far and cleans up.
+     */
+    public static boolean stop(MinecraftServer server) {
+        if (active == null) return false;
+        finish(server, true);
+        return true;
+    }
+
+    /**
+     * @return The synthetic player with this UUID, or null if none is part of the running storm.
+     */
+    public static ServerPlayer getSyntheticPlayer(UUID uuid) {
+        return active == null ? null : active.players.get(uuid);
+    }
+
+    /**
+     * Called by stasis when a player is released or times out.
+     */
+    public static void onStasisEnded(UUID uuid, boolean released) {
+        if (active == null) return;
+
+        Long since = active.waitingSince.remove(uuid);
+        if (since == null) return;
+
+        if (released) {
+            active.released++;
+            active.latencyMicros.record(CPSMetrics.microsSince(since));
+        } else {
+            active.timeouts++;
+        }
+    }
+
+    /**
+     * Samples tick time, dispatches this tick's joins and finishes once every player has landed.
+     */
+    public static void tick(MinecraftServer server) {
+        if (active == null) return;
+        Storm storm = active;
+
+        // The slot for the previous tick is complete; the current one is still being measured.
+        long lastTickNanos = server.tickTimes[Math.floorMod(server.getTickCount() - 1, server.tickTimes.length)];
+        storm.tickMicros.record(lastTickNanos / 1000L);
+
+        ServerLevel level = server.overworld();
+        SpreaderWorldData data = SpreaderWorldData.get(level);
+        for (int i = 0; i < storm.perTick && storm.dispatched < storm.total; i++) {
+            UUID uuid = UUID.randomUUID();
+            FakePlayer player = new FakePlayer(level, new GameProfile(uuid, "cps_storm_" + storm.dispatched));
+            storm.players.put(uuid, player);
+            storm.waitingSince.put(uuid, System.nanoTime());
+            storm.dispatched++;
+
+            // Flagged so /cps_sim purge can still find the slot if the server stops before cleanup.
+            data.markSynthetic(uuid);
+            JoinAdmission.admit(player);
+
+            // A ready warm slot places the player immediately without stasis.
+            if (!SpreaderEvents.isPending(uuid) && !JoinAdmission.isQueued(uuid)) {
+                onStasisEnded(uuid, true);
+            }
+        }
+
+        if (storm.dispatched >= storm.total && storm.waitingSince.isEmpty()) {
+            finish(server, false);
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void finish(MinecraftServer server, boolean cancelled) {
+        Storm storm = active;
+        active = null;
+
+        report(storm, cancelled);
+        cleanup(server, storm);
+    }
+
+    private static void report(Storm storm, boolean cancelled) {
+        double seconds = Math.max(1e-9, (System.nanoTime() - storm.startNanos) / 1e9);
+        double completedPerSecond = (storm.released + storm.timeouts) / seconds;
+
+        String header = String.format("--- Join Storm %s: %d/%d joined in %.1fs ---",
+                cancelled ? "Stopped" : "Complete", storm.dispatched, storm.total, seconds);
+        String throughput = String.format("Throughput: %.2f assignments/s | Released: %d | Timeouts: %d | Still waiting: %d",
+                completedPerSecond, storm.released, storm.timeouts, storm.waitingSince.size());
+        String latency = String.format("Join-to-release: p50=%.2fs p99=%.2fs max=%.2fs",
+                storm.latencyMicros.percentile(0.50) / 1e6, storm.latencyMicros.percentile(0.99) / 1e6, storm.latencyMicros.max() / 1e6);
+        String mspt = String.format("MSPT: baseline %.2f | during mean=%.2f p99=%.2f max=%.2f",
+                storm.baselineMspt, storm.tickMicros.mean() / 1000.0, storm.tickMicros.percentile(0.99) / 1000.0, storm.tickMicros.max() / 1000.0);
+
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - {} {} {} {}", header, throughput, latency, mspt);
+        storm.source.sendSuccess(() -> Component.literal(header).withStyle(ChatFormatting.GOLD), false);
+        storm.source.sendSuccess(() -> Component.literal(throughput).withStyle(ChatFormatting.AQUA), false);
+        storm.source.sendSuccess(() -> Component.literal(latency).withStyle(ChatFormatting.AQUA), false);
+        storm.source.sendSuccess(() -> Component.literal(mspt).withStyle(ChatFormatting.AQUA), false);
+    }
+
+    /**
+     * Rewinds the spiral index when no real assignment or warm slot landed in the storm's range, so real players
+     * get those slots (their terrain is already generated). Otherwise the synthetic homes go on the free list.
+     */
+    private static void cleanup(MinecraftServer server, Storm storm) {
+        ServerLevel level = server.overworld();
+        SpreaderWorldData data = SpreaderWorldData.get(level);
+        SpiralLayout layout = SpiralLayout.fromConfig();
+
+        for (UUID uuid : storm.players.keySet()) {
+            JoinAdmission.cancel(uuid);
+            SpreaderEvents.cancelStasis(level, uuid);
+        }
+
+        int endIndex = data.getCurrentSpiralIndex();
+        boolean rewindable = data.getWarmSlots().stream().noneMatch(slot -> slot.index() >= storm.startIndex);
+
+        PlacementStrategy.Cursor cursor = layout.cursor(storm.startIndex);
+        for (int i = storm.startIndex; rewindable && i < endIndex; i++) {
+            UUID owner = data.getOwner(layout.chunkAt(cursor));
+            if (owner != null && !storm.players.containsKey(owner)) {
+                rewindable = false;
+            }
+            cursor.next();
+        }
+
+        for (UUID uuid : storm.players.keySet()) {
+            BlockPos home = data.getAssignment(uuid);
+            // Slots taken off the free list lie below the storm's range; the rewind does not cover them.
+            if (rewindable && home != null && layout.indexForChunk(new ChunkPos(home)) >= storm.startIndex) {
+                data.removeAssignment(uuid);
+            } else {
+                data.reclaimAssignment(uuid, layout);
+            }
+        }
+
+        String result;
+        if (rewindable && endIndex > storm.startIndex) {
+            data.setCurrentSpiralIndex(storm.startIndex);
+            BiomePrescanner.resync(storm.startIndex);
+            result = "Cleaned up " + storm.players.size() + " synthetic players. Spiral index rewound to " + storm.startIndex + ".";
+        } else {
+            result = "Cleaned up " + storm.players.size() + " synthetic players. Spiral index left at " + endIndex
+                    + (endIndex > storm.startIndex ? " (real players or warm slots took indices during the storm); "
+                    + data.getFreeIndexCount() + " slots are on the free list." : ".");
+        }
+
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - {}", result);
+        storm.source.sendSuccess(() -> Component.literal(result).withStyle(ChatFormatting.GRAY), false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Assigns a group of new players as one party.
+ * <p>
+ * The party gets consecutive usable spiral indices, so their homes are neighbours on the layout. The block is
+ * committed to {@link SpreaderWorldData} in one step, generation is queued as one {@link GenerationQueue} batch,
+ * and stasis only ends once every member's home is ready. Recycled slots and the warm pool are not used for
+ * parties, since neither can hand out adjacent homes.
+ */
+public final class PartyAssignment {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private PartyAssignment() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Assigns every player in the list that has no home and is not already waiting for one.
+     * A single eligible player goes through the normal join path.
+     *
+     * @return The number of players that were assigned.
+     */
+    public static int assign(MinecraftServer server, List<ServerPlayer> players) {
+        ServerLevel level = server.overworld();
+        SpreaderWorldData data = SpreaderWorldData.get(level);
+
+        // --- 1. Eligible Members ---
+        Map<UUID, ServerPlayer> members = new LinkedHashMap<>();
+        for (ServerPlayer player : players) {
+            UUID uuid = player.getUUID();
+            if (player.isRemoved() || data.getAssignment(uuid) != null || SpreaderEvents.isPending(uuid)) continue;
+            members.putIfAbsent(uuid, player);
+        }
+        if (members.isEmpty()) return 0;
+        if (members.size() == 1) {
+            SpreaderEvents.processPlayerJoin(members.values().iterator().next());
+            return 1;
+        }
+
+        long start = System.nanoTime();
+
+        // --- 2. Reserve One Block of Indices ---
+        SpiralLayout layout = SpiralLayout.fromConfig();
+        int[] indices = SpreaderEvents.findIndexBlock(level, data, layout, members.size());
+
+        List<ServerPlayer> ordered = new ArrayList<>(members.values());
+        List<ChunkPos> chunks = new ArrayList<>(indices.length);
+        Map<UUID, BlockPos> homes = new LinkedHashMap<>();
+        for (int i = 0; i < indices.length; i++) {
+            ChunkPos chunk = layout.chunkForIndex(indices[i]);
+            chunks.add(chunk);
+            homes.put(ordered.get(i).getUUID(), new BlockPos(chunk.getMinBlockX() + 8, 320, chunk.getMinBlockZ() + 8));
+        }
+
+        int next = indices[indices.length - 1] + 1;
+        data.putAssignments(homes, next);
+        BiomePrescanner.onIndexConsumed(next);
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Assigned a party of {} to spiral indices {}..{}.",
+                ordered.size(), indices[0], indices[indices.length - 1]);
+
+        // --- 3. Generate and Hold Together ---
+        GenerationQueue.submitBatch(chunks, GenerationQueue.Priority.PLAYER);
+        SpreaderEvents.beginPartyStasis(level, ordered, chunks);
+
+        CPSMetrics.FIRST_JOINS.add(ordered.size());
+        CPSMetrics.PARTIES.increment();
+        CPSMetrics.JOIN_MICROS.record(CPSMetrics.microsSince(start));
+        return ordered.size();
+    }
+}
@@ -0,0 +1,235 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Usable spiral indices precomputed for one seed and layout by {@link SeedPlanner}.
+ * While the spiral index is inside the planned range, joins take the next planned index without sampling biomes.
+ * <p>
+ * File layout: a fixed header followed by the usable indices as unsigned LEB128 deltas.
+ */
+public final class PlacementPlan {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public static final String FILE_NAME = "chunkpartyspreader_plan.bin";
+
+    private static final int MAGIC = 0x43505350; // "CPSP"
+    private static final int VERSION = 2;
+
+    // Planned indices re-classified against the live level before a plan is trusted.
+    private static final int VERIFY_SAMPLES = 32;
+
+    private static PlacementPlan active;
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private final long seed;
+    private final SpiralLayout layout;
+    private final int sampleY;
+    private final int[] usable; // ascending
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @param usable Usable indices in ascending order; every index below the last one not listed is unusable.
+     */
+    public PlacementPlan(long seed, SpiralLayout layout, int sampleY, int[] usable) {
+        this.seed = seed;
+        this.layout = layout;
+        this.sampleY = sampleY;
+        this.usable = usable;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @return The plan loaded for the running server, or null if there is none.
+     */
+    public static PlacementPlan active() {
+        return active;
+    }
+
+    /**
+     * Loads {@value #FILE_NAME} from the world's data folder if present.
+     * The plan is discarded if it was made for a different seed or layout, or if spot checks
+     * against the live biome source disagree with it (for example because a mod changes overworld biomes).
+     */
+    public static void load(ServerLevel overworld) {
+        active = null;
+
+        Path file = overworld.getServer().getWorldPath(LevelResource.ROOT).resolve("data").resolve(FILE_NAME);
+        if (!Files.exists(file)) return;
+
+        PlacementPlan plan;
+        try {
+            plan = read(file);
+        } catch (IOException e) {
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to read seed plan {}; joins will sample biomes.", file, e);
+            return;
+        }
+
+        SpiralLayout current = SpiralLayout.fromConfig();
+        if (plan.seed != overworld.getSeed() || !plan.layout.equals(current)) {
+            ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Ignoring seed plan made for seed {} / {}; this world is seed {} / {}.",
+                    plan.seed, plan.layout, overworld.getSeed(), current);
+            return;
+        }
+
+        BiomeSource source = overworld.getChunkSource().getGenerator().getBiomeSource();
+        Climate.Sampler sampler = overworld.getChunkSource().randomState().sampler();
+        PlacementStrategy.Cursor cursor = plan.layout.cursor(0);
+        int step = Math.max(1, plan.usable.length / VERIFY_SAMPLES);
+        for (int i = 0; i < plan.usable.length; i += step) {
+            cursor.seek(plan.usable[i]);
+            byte classification = BiomeClassifier.classifyNoise(source, sampler,
+                    plan.layout.centerBlockX(cursor), plan.sampleY, plan.layout.centerBlockZ(cursor));
+            if (!BiomeClassifier.isUsable(classification)) {
+                ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Ignoring seed plan: index {} is {} in this world. Was it made with different biome mods?",
+                        plan.usable[i], BiomeClassifier.describe(classification));
+                return;
+            }
+        }
+
+        active = plan;
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Loaded seed plan: {} usable indices covering 0..{}.", plan.usable.length, plan.end() - 1);
+    }
+
+    public static void unload() {
+        active = null;
+    }
+
+    /**
+     * @return True if every index from {@code index} up to the plan's end has been classified.
+     */
+    public boolean covers(int index) {
+        return index >= 0 && index < end();
+    }
+
+    /**
+     * @return The first planned usable index at or after {@code index}, or -1 if it lies beyond the plan.
+     */
+    public int nextUsable(int index) {
+        int pos = Arrays.binarySearch(usable, Math.max(0, index));
+        if (pos < 0) pos = -pos - 1;
+        return pos < usable.length ? usable[pos] : -1;
+    }
+
+    /**
+     * @return The number of planned usable indices at or after {@code index}.
+     */
+    public int remaining(int index) {
+        int pos = Arrays.binarySearch(usable, Math.max(0, index));
+        if (pos < 0) pos = -pos - 1;
+        return usable.length - pos;
+    }
+
+    /**
+     * @return One past the last classified index.
+     */
+    public int end() {
+        return usable.length == 0 ? 0 : usable[usable.length - 1] + 1;
+    }
+
+    public int size() {
+        return usable.length;
+    }
+
+    /**
+     * Writes the plan through a temporary file so a reader never sees a partial plan.
+     */
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeInt(layout.spacingChunks());
+            out.writeInt(layout.centerOffsetX());
+            out.writeInt(layout.centerOffsetZ());
+            out.writeInt(layout.mode().ordinal());
+            out.writeInt(sampleY);
+            out.writeInt(usable.length);
+
+            int previous = -1;
+            for (int index : usable) {
+                writeVarInt(out, index - previous);
+                previous = index;
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static PlacementPlan read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a seed plan file");
+            int version = in.readInt();
+            if (version < 1 || version > VERSION) throw new IOException("Unsupported seed plan version " + version);
+
+            long seed = in.readLong();
+            int spacing = in.readInt(), offsetX = in.readInt(), offsetZ = in.readInt();
+            // Version 1 plans predate placement strategies and are always spirals.
+            int mode = version >= 2 ? in.readInt() : CPSConfig.PlacementMode.SPIRAL.ordinal();
+            if (mode < 0 || mode >= CPSConfig.PlacementMode.values().length) throw new IOException("Unknown placement strategy " + mode);
+            SpiralLayout layout = new SpiralLayout(spacing, offsetX, offsetZ, CPSConfig.PlacementMode.values()[mode]);
+            int sampleY = in.readInt();
+            int count = in.readInt();
+            if (count < 0) throw new IOException("Corrupt seed plan length " + count);
+
+            int[] usable = new int[count];
+            int previous = -1;
+            for (int i = 0; i < count; i++) {
+                previous += readVarInt(in);
+                usable[i] = previous;
+            }
+            return new PlacementPlan(seed, layout, sampleY, usable);
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint in seed plan");
+    }
+}
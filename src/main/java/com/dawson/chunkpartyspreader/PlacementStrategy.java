@@ -0,0 +1,101 @@
+package com.dawson.chunkpartyspreader;
+
+/**
+ * Order in which homes are laid out on the placement grid.
+ * <p>
+ * A strategy maps each index to a unit point on its own lattice and back; {@link SpiralLayout} scales unit
+ * points by the configured spacing and shifts them by the center offset. Square lattices scale both axes by the
+ * spacing; other lattices override {@link #offsetX}, {@link #offsetZ} and {@link #unitForOffset}.
+ */
+public interface PlacementStrategy {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    static PlacementStrategy of(CPSConfig.PlacementMode mode) {
+        return switch (mode) {
+            case SPIRAL -> SquareSpiral.INSTANCE;
+            case HILBERT -> HilbertCurve.INSTANCE;
+            case HEX -> HexSpiral.INSTANCE;
+        };
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @return The unit point of the given index. Negative indices map to index 0.
+     */
+    SpiralCalculator.IntPoint unitForIndex(int index);
+
+    /**
+     * Exact inverse of {@link #unitForIndex(int)}.
+     *
+     * @return The index of the unit point, or -1 if no index in the int range maps to it.
+     */
+    int indexForUnit(int x, int z);
+
+    /**
+     * @return A cursor positioned at {@code startIndex}.
+     */
+    Cursor cursor(int startIndex);
+
+    /**
+     * @return The X distance in chunks of a unit point from the center.
+     */
+    default int offsetX(int unitX, int unitZ, int spacingChunks) {
+        return unitX * spacingChunks;
+    }
+
+    /**
+     * @return The Z distance in chunks of a unit point from the center.
+     */
+    default int offsetZ(int unitX, int unitZ, int spacingChunks) {
+        return unitZ * spacingChunks;
+    }
+
+    /**
+     * Inverse of {@link #offsetX}/{@link #offsetZ}.
+     *
+     * @return The unit point at the given chunk distance from the center, or null if no point lies there.
+     */
+    default SpiralCalculator.IntPoint unitForOffset(long dx, long dz, int spacingChunks) {
+        if (dx % spacingChunks != 0 || dz % spacingChunks != 0) return null;
+        return new SpiralCalculator.IntPoint((int) (dx / spacingChunks), (int) (dz / spacingChunks));
+    }
+
+    /**
+     * @return True if points sit on a square grid of the spacing, which region-aligned placement requires.
+     */
+    default boolean isSquareLattice() {
+        return true;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Mutable position that walks forward one index at a time. Not thread-safe.
+     */
+    interface Cursor {
+
+        /**
+         * Jumps to an arbitrary index.
+         */
+        void seek(int target);
+
+        /**
+         * Advances to the following index.
+         */
+        void next();
+
+        int index();
+
+        int x();
+
+        int z();
+    }
+}
@@ -0,0 +1,371 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.RespawnAnchorBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.entity.player.PlayerSetSpawnEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.ExplosionEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps respawns from loading chunks on the server thread.
+ * <p>
+ * Whether each online player's bed or anchor is still usable is cached and re-read only when a block
+ * next to it changes, and only while its chunk is already loaded. Players who look likely to die soon
+ * and would fall back to their spiral home get a ticket on that home's chunk, so the teleport lands warm.
+ */
+@Mod.EventBusSubscriber(modid = ChunkPartySpreader.MODID)
+public final class RespawnTargets {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int PRELOAD_SCAN_INTERVAL_TICKS = 20;
+
+    // Fall damage is the fall distance minus this many blocks.
+    private static final float SAFE_FALL_DISTANCE = 3.0f;
+
+    private static final Map<UUID, Target> TARGETS = new HashMap<>();
+    // Players with a target in each chunk, so block events find affected targets without scanning everyone.
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Set<UUID>>> BY_CHUNK = new HashMap<>();
+    private static final Set<UUID> DIRTY = new LinkedHashSet<>();
+    private static final Map<UUID, ChunkPos> PRELOADED = new HashMap<>();
+
+    private RespawnTargets() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Event Handlers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    // --- 1. Target Changes ---
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            DIRTY.add(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            forget(player.server, player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        // Respawning can use up anchor charge or clear a missing bed.
+        if (event.getEntity() instanceof ServerPlayer player) {
+            DIRTY.add(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onSetSpawn(PlayerSetSpawnEvent event) {
+        // Fired before the new spawn is stored; the next tick reads it.
+        if (event.getEntity() instanceof ServerPlayer player) {
+            DIRTY.add(player.getUUID());
+        }
+    }
+
+    // --- 2. Block Changes Near a Target ---
+
+    @SubscribeEvent
+    public static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            invalidateNear(level, event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onBlockPlace(BlockEvent.EntityPlaceEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            invalidateNear(level, event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onRightClickBlock(PlayerInteractEvent.RightClickBlock event) {
+        // Charging an anchor changes its state without placing or breaking anything.
+        if (event.getLevel() instanceof ServerLevel level) {
+            invalidateNear(level, event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onExplosion(ExplosionEvent.Detonate event) {
+        if (TARGETS.isEmpty() || !(event.getLevel() instanceof ServerLevel level)) return;
+        for (BlockPos pos : event.getAffectedBlocks()) {
+            invalidateNear(level, pos);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        // Targets read while their chunk was unloaded are resolved once it arrives.
+        if (TARGETS.isEmpty() || !(event.getChunk() instanceof LevelChunk chunk) || !(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        Long2ObjectOpenHashMap<Set<UUID>> chunks = BY_CHUNK.get(level.dimension());
+        Set<UUID> holders = chunks == null ? null : chunks.get(chunk.getPos().toLong());
+        if (holders != null) {
+            DIRTY.addAll(holders);
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Re-reads changed targets and updates the home preload tickets. Called once per server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        // --- 1. Refresh Changed Targets ---
+        if (!DIRTY.isEmpty()) {
+            // forget() edits DIRTY, so work from a copy.
+            List<UUID> batch = List.copyOf(DIRTY);
+            DIRTY.clear();
+            for (UUID uuid : batch) {
+                ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+                if (player == null) {
+                    forget(server, uuid);
+                } else {
+                    refresh(server, player);
+                }
+            }
+        }
+
+        // --- 2. Preload Homes of Players at Risk ---
+        if (server.getTickCount() % PRELOAD_SCAN_INTERVAL_TICKS != 0) return;
+
+        double threshold = CPSConfig.RESPAWN_PRELOAD_HEALTH.get();
+        ServerLevel overworld = server.overworld();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            UUID uuid = player.getUUID();
+            ChunkPos held = PRELOADED.get(uuid);
+            ChunkPos wanted = null;
+
+            if (threshold > 0 && isAtRisk(player, threshold) && !hasCachedValidTarget(player)) {
+                BlockPos home = SpreaderWorldData.get(overworld).getAssignment(uuid);
+                if (home != null) {
+                    wanted = new ChunkPos(home);
+                }
+            }
+
+            if (held != null && !held.equals(wanted)) {
+                ChunkTickets.release(overworld, held, ChunkTickets.Purpose.RESPAWN_PRELOAD, uuid);
+                PRELOADED.remove(uuid);
+            }
+            if (wanted != null && !wanted.equals(held)) {
+                ChunkTickets.acquire(overworld, wanted, ChunkTickets.Purpose.RESPAWN_PRELOAD, uuid);
+                PRELOADED.put(uuid, wanted);
+            }
+        }
+    }
+
+    /**
+     * Decides whether the player respawned at their bed, anchor or forced spawn.
+     * Reads the block directly when its chunk is loaded, since the cache only hears about player-made changes
+     * (pistons, commands and other non-player breaks go unseen). The cache answers only for cold chunks,
+     * and the synchronous read is a last resort.
+     */
+    public static boolean hasValidSpawnBlockOrForced(ServerPlayer player, MinecraftServer server) {
+        if (player.isRespawnForced()) return true;
+
+        BlockPos respawnPos = player.getRespawnPosition();
+        if (respawnPos == null) return false;
+
+        ServerLevel respawnLevel = server.getLevel(player.getRespawnDimension());
+        if (respawnLevel == null) return false;
+
+        Target target = TARGETS.get(player.getUUID());
+        boolean isCurrent = target != null && target.dimension == player.getRespawnDimension() && target.pos.equals(respawnPos);
+
+        // A. Loaded Chunk: the live block is the answer, and refreshes the cache
+        LevelChunk chunk = respawnLevel.getChunkSource().getChunkNow(
+                SectionPos.blockToSectionCoord(respawnPos.getX()), SectionPos.blockToSectionCoord(respawnPos.getZ()));
+        if (chunk != null) {
+            boolean valid = isRespawnBlock(chunk.getBlockState(respawnPos));
+            if (isCurrent) {
+                target.valid = valid;
+            }
+            CPSMetrics.RESPAWN_CACHE_HITS.increment();
+            return valid;
+        }
+
+        // B. Cold Chunk: trust the cache if it has an answer
+        if (isCurrent && target.valid != null) {
+            CPSMetrics.RESPAWN_CACHE_HITS.increment();
+            return target.valid;
+        }
+
+        CPSMetrics.RESPAWN_CACHE_MISSES.increment();
+        return isRespawnBlock(respawnLevel.getBlockState(respawnPos));
+    }
+
+    /**
+     * @return True while a home chunk is held for this player.
+     */
+    public static boolean isPreloading(UUID uuid) {
+        return PRELOADED.containsKey(uuid);
+    }
+
+    public static int preloadCount() {
+        return PRELOADED.size();
+    }
+
+    /**
+     * Forgets all state. Tickets are released separately by {@link ChunkTickets#releaseAll}.
+     */
+    public static void clear() {
+        TARGETS.clear();
+        BY_CHUNK.clear();
+        DIRTY.clear();
+        PRELOADED.clear();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void refresh(MinecraftServer server, ServerPlayer player) {
+        UUID uuid = player.getUUID();
+        BlockPos pos = player.getRespawnPosition();
+        if (pos == null) {
+            unindex(uuid);
+            return;
+        }
+
+        Target target = TARGETS.get(uuid);
+        if (target == null || target.dimension != player.getRespawnDimension() || !target.pos.equals(pos)) {
+            unindex(uuid);
+            target = new Target(player.getRespawnDimension(), pos.immutable());
+            TARGETS.put(uuid, target);
+            BY_CHUNK.computeIfAbsent(target.dimension, k -> new Long2ObjectOpenHashMap<>())
+                    .computeIfAbsent(ChunkPos.asLong(target.pos), k -> new HashSet<>())
+                    .add(uuid);
+        }
+
+        ServerLevel level = server.getLevel(target.dimension);
+        if (level == null) {
+            target.valid = false;
+            return;
+        }
+
+        // Unknown until the chunk loads; onChunkLoad marks it dirty again then.
+        LevelChunk chunk = level.getChunkSource().getChunkNow(
+                SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+        target.valid = chunk == null ? null : isRespawnBlock(chunk.getBlockState(pos));
+    }
+
+    private static void forget(MinecraftServer server, UUID uuid) {
+        unindex(uuid);
+        DIRTY.remove(uuid);
+        ChunkPos held = PRELOADED.remove(uuid);
+        if (held != null) {
+            ChunkTickets.release(server.overworld(), held, ChunkTickets.Purpose.RESPAWN_PRELOAD, uuid);
+        }
+    }
+
+    private static void unindex(UUID uuid) {
+        Target target = TARGETS.remove(uuid);
+        if (target == null) return;
+
+        Long2ObjectOpenHashMap<Set<UUID>> chunks = BY_CHUNK.get(target.dimension);
+        long key = ChunkPos.asLong(target.pos);
+        Set<UUID> holders = chunks.get(key);
+        holders.remove(uuid);
+        if (holders.isEmpty()) {
+            chunks.remove(key);
+        }
+    }
+
+    /**
+     * Marks targets within one block of {@code pos} for a re-read; covers the other half of a bed.
+     */
+    private static void invalidateNear(ServerLevel level, BlockPos pos) {
+        Long2ObjectOpenHashMap<Set<UUID>> chunks = BY_CHUNK.get(level.dimension());
+        if (chunks == null) return;
+
+        int minX = SectionPos.blockToSectionCoord(pos.getX() - 1), maxX = SectionPos.blockToSectionCoord(pos.getX() + 1);
+        int minZ = SectionPos.blockToSectionCoord(pos.getZ() - 1), maxZ = SectionPos.blockToSectionCoord(pos.getZ() + 1);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                Set<UUID> holders = chunks.get(ChunkPos.asLong(cx, cz));
+                if (holders == null) continue;
+                for (UUID uuid : holders) {
+                    if (TARGETS.get(uuid).pos.closerThan(pos, 2)) {
+                        DIRTY.add(uuid);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isRespawnBlock(BlockState state) {
+        if (state.is(BlockTags.BEDS)) return true;
+
+        if (state.is(Blocks.RESPAWN_ANCHOR)) {
+            Integer charge = state.getValue(RespawnAnchorBlock.CHARGE);
+            return charge > 0;
+        }
+
+        return false;
+    }
+
+    private static boolean hasCachedValidTarget(ServerPlayer player) {
+        if (player.isRespawnForced() && player.getRespawnPosition() != null) return true;
+        Target target = TARGETS.get(player.getUUID());
+        return target != null && Boolean.TRUE.equals(target.valid);
+    }
+
+    private static boolean isAtRisk(ServerPlayer player, double threshold) {
+        if (player.isSpectator() || SpreaderEvents.isPending(player.getUUID())) return false;
+
+        float health = player.getHealth();
+        return player.getY() < player.level().getMinBuildHeight()
+                || (!player.isCreative() && (health <= threshold || player.fallDistance - SAFE_FALL_DISTANCE >= health));
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final class Target {
+        final ResourceKey<Level> dimension;
+        final BlockPos pos;
+        Boolean valid; // null while the chunk has not been seen loaded
+
+        Target(ResourceKey<Level> dimension, BlockPos pos) {
+            this.dimension = dimension;
+            this.pos = pos;
+        }
+    }
+}
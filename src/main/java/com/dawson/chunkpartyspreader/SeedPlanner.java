@@ -0,0 +1,145 @@
+package com.dawson.chunkpartyspreader;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.data.registries.VanillaRegistries;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
+import net.minecraft.world.level.biome.MultiNoiseBiomeSource;
+import net.minecraft.world.level.biome.MultiNoiseBiomeSourceParameterLists;
+import net.minecraft.world.level.levelgen.NoiseGeneratorSettings;
+import net.minecraft.world.level.levelgen.RandomState;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Standalone tool that classifies spiral indices for a seed without launching a server and writes a {@link PlacementPlan}.
+ * Uses the vanilla overworld noise settings and biome preset; worlds with biome mods are caught by the
+ * spot check in {@link PlacementPlan#load} and fall back to live sampling.
+ * <p>
+ * Usage: {@code SeedPlanner <seed> <count> [spacing] [offsetX] [offsetZ] [output] [--region-aligned] [--strategy=SPIRAL|HILBERT|HEX]}
+ */
+public final class SeedPlanner {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    // Indices classified per parallel pass.
+    private static final int WINDOW = 1 << 16;
+
+    // Matches region_aligned_placement = true in the mod config.
+    private static final String REGION_ALIGNED_FLAG = "--region-aligned";
+    // Matches placement_strategy in the mod config.
+    private static final String STRATEGY_FLAG = "--strategy=";
+
+    // Give up on seeds where almost nothing is land, rather than walking the spiral forever.
+    private static final int MAX_INDICES_PER_HOME = 1000;
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private SeedPlanner() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public static void main(String[] rawArgs) throws Exception {
+        boolean regionAligned = Arrays.asList(rawArgs).contains(REGION_ALIGNED_FLAG);
+        CPSConfig.PlacementMode mode = Arrays.stream(rawArgs).filter(arg -> arg.startsWith(STRATEGY_FLAG))
+                .map(arg -> CPSConfig.PlacementMode.valueOf(arg.substring(STRATEGY_FLAG.length()).toUpperCase(Locale.ROOT)))
+                .findFirst().orElse(CPSConfig.PlacementMode.SPIRAL);
+        String[] args = Arrays.stream(rawArgs).filter(arg -> !arg.equals(REGION_ALIGNED_FLAG) && !arg.startsWith(STRATEGY_FLAG))
+                .toArray(String[]::new);
+        if (args.length < 2) {
+            System.err.println("Usage: SeedPlanner <seed> <count> [spacing=25] [offsetX=0] [offsetZ=0] [output=" + PlacementPlan.FILE_NAME + "] ["
+                    + REGION_ALIGNED_FLAG + "] [" + STRATEGY_FLAG + "SPIRAL|HILBERT|HEX]");
+            System.exit(1);
+        }
+
+        // Defaults mirror CPSConfig, which is not loaded outside the game.
+        long seed = parseSeed(args[0]);
+        int count = Integer.parseInt(args[1]);
+        SpiralLayout layout = new SpiralLayout(
+                args.length > 2 ? Integer.parseInt(args[2]) : 25,
+                args.length > 3 ? Integer.parseInt(args[3]) : 0,
+                args.length > 4 ? Integer.parseInt(args[4]) : 0,
+                mode
+        );
+        if (regionAligned) {
+            layout = layout.regionAligned();
+        }
+        Path output = Path.of(args.length > 5 ? args[5] : PlacementPlan.FILE_NAME);
+
+        // --- 1. Vanilla Worldgen Without a Server ---
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        HolderLookup.Provider registries = VanillaRegistries.createLookup();
+
+        NoiseGeneratorSettings settings = registries.lookupOrThrow(Registries.NOISE_SETTINGS)
+                .getOrThrow(NoiseGeneratorSettings.OVERWORLD).value();
+        RandomState randomState = RandomState.create(settings, registries.lookupOrThrow(Registries.NOISE), seed);
+        BiomeSource source = MultiNoiseBiomeSource.createFromPreset(registries.lookupOrThrow(Registries.MULTI_NOISE_BIOME_SOURCE_PARAMETER_LIST)
+                .getOrThrow(MultiNoiseBiomeSourceParameterLists.OVERWORLD));
+        Climate.Sampler sampler = randomState.sampler();
+        int sampleY = settings.seaLevel();
+
+        // --- 2. Classify in Parallel Windows ---
+        System.out.printf("Planning %d homes for seed %d with %s on %d threads...%n", count, seed, layout, ForkJoinPool.commonPool().getParallelism());
+        long start = System.nanoTime();
+        long limit = Math.min(Integer.MAX_VALUE, (long) count * MAX_INDICES_PER_HOME);
+
+        IntArrayList usable = new IntArrayList(count);
+        byte[] window = new byte[WINDOW];
+        int base = 0;
+        while (usable.size() < count && base < limit) {
+            int windowStart = base;
+            int length = (int) Math.min(WINDOW, limit - windowStart);
+
+            WindowClassifier.classify(ForkJoinPool.commonPool(), layout,
+                    (bx, bz) -> BiomeClassifier.classifyNoise(source, sampler, bx, sampleY, bz), windowStart, window, length);
+
+            for (int i = 0; i < length && usable.size() < count; i++) {
+                if (BiomeClassifier.isUsable(window[i])) {
+                    usable.add(windowStart + i);
+                }
+            }
+            base += length;
+            System.out.printf("  %d indices classified, %d usable%n", base, usable.size());
+        }
+
+        // --- 3. Write the Plan ---
+        PlacementPlan plan = new PlacementPlan(seed, layout, sampleY, usable.toIntArray());
+        plan.write(output);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %d usable indices covering 0..%d to %s in %.1fs.%n", plan.size(), plan.end() - 1, output.toAbsolutePath(), seconds);
+        if (plan.size() < count) {
+            System.out.printf("Only %d of %d homes found within %d indices.%n", plan.size(), count, limit);
+        }
+        System.out.println("Copy it into <world>/data/ to use it.");
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Same rule as the world creation screen: numbers are used as-is, anything else is hashed.
+     */
+    private static long parseSeed(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return text.hashCode();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Applies the slot recycling policies: homes of long-inactive players, homes that never left stasis,
+ * and /cps_sim players are reclaimed and their spiral indices go on the free list for the next join.
+ * <p>
+ * Last-seen times come from each player's vanilla save file, so no extra state is tracked. The file checks
+ * run on the IO pool; the resulting candidates are re-validated and applied on the server thread.
+ */
+public final class SlotRecycler {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    // Homes still at the stasis height never reached ground.
+    private static final int STASIS_Y = 320;
+
+    // The server a scan is running for, or null. Kept per server so a scan cut off by shutdown cannot block the next session.
+    private static MinecraftServer scanningServer = null;
+    private static long lastScanTick = 0;
+
+    /**
+     * Why a home was reclaimed.
+     */
+    public enum Reason {
+        SYNTHETIC,
+        ABANDONED_STASIS,
+        INACTIVE
+    }
+
+    private record Candidate(UUID uuid, long packedPos, Reason reason) {}
+
+    private SlotRecycler() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Runs the automatic scan on the configured interval. Synthetic players are left to {@code /cps_sim purge}.
+     */
+    public static void tick(MinecraftServer server) {
+        int intervalMinutes = CPSConfig.RECYCLE_SCAN_INTERVAL_MINUTES.get();
+        if (intervalMinutes <= 0) return;
+        if (CPSConfig.RECYCLE_INACTIVE_DAYS.get() <= 0 && CPSConfig.RECYCLE_ABANDONED_STASIS_HOURS.get() <= 0) return;
+
+        long now = server.getTickCount();
+        if (now - lastScanTick < intervalMinutes * 1200L) return;
+        lastScanTick = now;
+
+        scan(server, false, true, counts -> {
+            int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+            if (total > 0) {
+                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Recycled {} home slots: {}", total, counts);
+            }
+        });
+    }
+
+    /**
+     * Finds reclaimable homes and, if {@code apply} is set, reclaims them.
+     *
+     * @param includeSynthetic Whether homes of /cps_sim players count.
+     * @param onDone           Receives the number of homes per reason, on the server thread.
+     * @return False if a scan is already running.
+     */
+    public static boolean scan(MinecraftServer server, boolean includeSynthetic, boolean apply, Consumer<Map<Reason, Integer>> onDone) {
+        if (scanningServer == server) return false;
+        scanningServer = server;
+
+        SpreaderWorldData data = SpreaderWorldData.get(server.overworld());
+        int inactiveDays = CPSConfig.RECYCLE_INACTIVE_DAYS.get();
+        int abandonedHours = CPSConfig.RECYCLE_ABANDONED_STASIS_HOURS.get();
+
+        // --- 1. Snapshot on the server thread ---
+        List<Candidate> synthetic = new ArrayList<>();
+        List<Candidate> offline = new ArrayList<>();
+        Set<UUID> online = new HashSet<>();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            online.add(player.getUUID());
+        }
+
+        data.forEachAssignment((most, least, packedPos) -> {
+            UUID uuid = new UUID(most, least);
+            if (online.contains(uuid) || SpreaderEvents.isPending(uuid)) return;
+
+            if (data.isSynthetic(uuid)) {
+                if (includeSynthetic) synthetic.add(new Candidate(uuid, packedPos, Reason.SYNTHETIC));
+            } else if (inactiveDays > 0 || abandonedHours > 0) {
+                offline.add(new Candidate(uuid, packedPos, null));
+            }
+        });
+
+        // --- 2. Last-seen checks on the IO pool ---
+        Path playerData = server.getWorldPath(LevelResource.PLAYER_DATA_DIR);
+        Util.ioPool().execute(() -> {
+            List<Candidate> found = new ArrayList<>(synthetic);
+            long nowMillis = System.currentTimeMillis();
+
+            for (Candidate candidate : offline) {
+                long offlineMillis;
+                try {
+                    offlineMillis = nowMillis - Files.getLastModifiedTime(playerData.resolve(candidate.uuid() + ".dat")).toMillis();
+                } catch (IOException e) {
+                    continue; // No save file: nothing known about this player, leave them alone.
+                }
+
+                boolean inStasis = BlockPos.getY(candidate.packedPos()) == STASIS_Y;
+                if (inStasis && abandonedHours > 0 && offlineMillis >= abandonedHours * 3_600_000L) {
+                    found.add(new Candidate(candidate.uuid(), candidate.packedPos(), Reason.ABANDONED_STASIS));
+                } else if (inactiveDays > 0 && offlineMillis >= inactiveDays * 86_400_000L) {
+                    found.add(new Candidate(candidate.uuid(), candidate.packedPos(), Reason.INACTIVE));
+                }
+            }
+
+            // --- 3. Re-validate and apply on the server thread ---
+            server.execute(() -> {
+                try {
+                    onDone.accept(applyCandidates(server, found, apply));
+                } finally {
+                    if (scanningServer == server) {
+                        scanningServer = null;
+                    }
+                }
+            });
+        });
+        return true;
+    }
+
+    /**
+     * Forgets the running scan and the scan schedule. Called on shutdown; tick counts restart with the next server.
+     */
+    public static void clear() {
+        scanningServer = null;
+        lastScanTick = 0;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static Map<Reason, Integer> applyCandidates(MinecraftServer server, List<Candidate> candidates, boolean apply) {
+        SpreaderWorldData data = SpreaderWorldData.get(server.overworld());
+        SpiralLayout layout = SpiralLayout.fromConfig();
+        Map<Reason, Integer> counts = new EnumMap<>(Reason.class);
+
+        for (Candidate candidate : candidates) {
+            UUID uuid = candidate.uuid();
+
+            // The player may have joined, or been reassigned, while the files were checked.
+            if (server.getPlayerList().getPlayer(uuid) != null || SpreaderEvents.isPending(uuid)) continue;
+            BlockPos home = data.getAssignment(uuid);
+            if (home == null || home.asLong() != candidate.packedPos()) continue;
+
+            if (apply) {
+                data.reclaimAssignment(uuid, layout);
+            }
+            counts.merge(candidate.reason(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
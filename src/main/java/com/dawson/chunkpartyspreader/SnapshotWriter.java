@@ -0,0 +1,91 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Encodes and writes saved-data snapshots on a dedicated thread.
+ * Writes run in submission order and land through a temporary file and an atomic rename,
+ * so a crash mid-write leaves the previous file intact.
+ */
+public final class SnapshotWriter {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "CPS Snapshot Writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private SnapshotWriter() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Queues a write in the vanilla saved-data layout ({@code data} plus {@code DataVersion}).
+     *
+     * @param encoder   Builds the data tag from an immutable snapshot; runs on the writer thread.
+     * @param onWritten Runs on the writer thread once the file is in place.
+     * @param onFailed  Runs on the writer thread if encoding or writing failed.
+     */
+    public static void submit(Path file, Supplier<CompoundTag> encoder, Runnable onWritten, Runnable onFailed) {
+        WRITER.execute(() -> {
+            try {
+                write(file, encoder.get());
+            } catch (IOException | RuntimeException e) {
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to write snapshot {}", file, e);
+                onFailed.run();
+                return;
+            }
+            onWritten.run();
+        });
+    }
+
+    /**
+     * Writes a snapshot on the calling thread, in the same layout and through the same temporary file as {@link #submit}.
+     *
+     * @throws IOException If the file could not be written; the previous file is left in place.
+     */
+    public static void write(Path file, CompoundTag data) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        CompoundTag root = new CompoundTag();
+        root.put("data", data);
+        NbtUtils.addCurrentDataVersion(root);
+
+        NbtIo.writeCompressed(root, temp.toFile());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Blocks until every queued write has finished. Called once the final world save has been submitted.
+     */
+    public static void awaitPending() {
+        try {
+            WRITER.submit(() -> {}).get(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Snapshot writes still running after {}s; continuing shutdown.", SHUTDOWN_WAIT_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed waiting for snapshot writes", e);
+        }
+    }
+}
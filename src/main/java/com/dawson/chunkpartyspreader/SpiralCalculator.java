@@ -16,6 +16,11 @@ public final class SpiralCalculator {
      */
     public record IntPoint(int x, int z) {}
 
+    // Chunks per side of an .mca region file.
+    public static final int REGION_CHUNKS = 32;
+    // Largest build radius that still fits in one region around a region-aligned point.
+    public static final int MAX_REGION_RADIUS = REGION_CHUNKS / 2 - 1;
+
     private SpiralCalculator() {}
 
     /**
@@ -77,4 +82,167 @@ public final class SpiralCalculator {
 
         return new ChunkPos((int) cx, (int) cz);
     }
+
+    /**
+     * Exact inverse of {@link #unitForIndex(int)}.
+     *
+     * @return The spiral index of the unit coordinate, or -1 if it lies beyond the int index range.
+     */
+    public static int indexForUnit(int x, int z) {
+        long r = Math.max(Math.abs((long) x), Math.abs((long) z));
+        if (r == 0) return 0;
+
+        long side = 2L * r;
+        long max = (2L * r + 1);
+        max = max * max - 1;
+
+        // Same perimeter walk as unitForIndex, solved for d.
+        long d;
+        if (z == -r) {                   // Bottom edge
+            d = r - x;
+        } else if (x == -r) {            // Left edge
+            d = side + (z + r);
+        } else if (z == r) {             // Top edge
+            d = 2 * side + (x + r);
+        } else {                         // Right edge
+            d = 3 * side + (r - z);
+        }
+
+        long index = max - d;
+        return index > Integer.MAX_VALUE ? -1 : (int) index;
+    }
+
+    /**
+     * Maps a chunk back to its spiral index.
+     *
+     * @return The index, or -1 if the chunk is not a spiral point under the given spacing and offsets.
+     */
+    public static int indexForChunk(int chunkX, int chunkZ, int spacingChunks, int centerOffsetX, int centerOffsetZ) {
+        long dx = (long) chunkX - centerOffsetX;
+        long dz = (long) chunkZ - centerOffsetZ;
+        if (dx % spacingChunks != 0 || dz % spacingChunks != 0) return -1;
+
+        return indexForUnit((int) (dx / spacingChunks), (int) (dz / spacingChunks));
+    }
+
+    /**
+     * Fills {@code xs}/{@code zs} with the unit coordinates of {@code count} consecutive indices.
+     */
+    public static void fillUnits(int startIndex, int count, int[] xs, int[] zs) {
+        Cursor cursor = new Cursor(startIndex);
+        for (int i = 0; i < count; i++) {
+            xs[i] = cursor.x();
+            zs[i] = cursor.z();
+            cursor.next();
+        }
+    }
+
+    /**
+     * Fills {@code out} with packed chunk positions ({@link ChunkPos#asLong}) of {@code count} consecutive indices.
+     */
+    public static void fillChunks(int startIndex, int count, int spacingChunks, int centerOffsetX, int centerOffsetZ, long[] out) {
+        Cursor cursor = new Cursor(startIndex);
+        for (int i = 0; i < count; i++) {
+            out[i] = ChunkPos.asLong(
+                    cursor.x() * spacingChunks + centerOffsetX,
+                    cursor.z() * spacingChunks + centerOffsetZ);
+            cursor.next();
+        }
+    }
+
+    /**
+     * Rounds a spacing up to a whole number of region files, so no two spiral points share a region.
+     */
+    public static int regionAlignedSpacing(int spacingChunks) {
+        int regions = Math.max(1, Math.floorDiv(spacingChunks + REGION_CHUNKS - 1, REGION_CHUNKS));
+        return regions * REGION_CHUNKS;
+    }
+
+    /**
+     * Moves a center offset to the middle chunk of the region file that contains it.
+     * With a region-aligned spacing, every spiral point then sits at the same spot inside its own region,
+     * leaving {@value #MAX_REGION_RADIUS} chunks on every side before the neighbouring file.
+     */
+    public static int regionAlignedOffset(int centerOffset) {
+        return Math.floorDiv(centerOffset, REGION_CHUNKS) * REGION_CHUNKS + REGION_CHUNKS / 2;
+    }
+
+    /**
+     * @return How many region files a square of {@code radius} chunks around {@code chunk} touches along one axis.
+     */
+    public static int regionSpan(int chunk, int radius) {
+        return Math.floorDiv(chunk + radius, REGION_CHUNKS) - Math.floorDiv(chunk - radius, REGION_CHUNKS) + 1;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Mutable position on the spiral that walks forward one index at a time.
+     * Only the initial seek does any square-root math; each step is a couple of comparisons and allocates nothing.
+     * Not thread-safe.
+     */
+    public static final class Cursor implements PlacementStrategy.Cursor {
+        private int index;
+        private int x;
+        private int z;
+        private int ring;
+
+        public Cursor(int startIndex) {
+            seek(startIndex);
+        }
+
+        /**
+         * Jumps to an arbitrary index. Seeking to the next index is just a step.
+         */
+        @Override
+        public void seek(int target) {
+            if (target == index + 1) {
+                next();
+                return;
+            }
+            IntPoint p = unitForIndex(target);
+            index = Math.max(target, 0);
+            x = p.x();
+            z = p.z();
+            ring = Math.max(Math.abs(x), Math.abs(z));
+        }
+
+        /**
+         * Advances to the following index.
+         */
+        @Override
+        public void next() {
+            index++;
+            if (x == ring && z == -ring) {       // End of ring (or origin): start the next one at (r, -r+1)
+                ring++;
+                x = ring;
+                z = -ring + 1;
+            } else if (x == ring && z < ring) {  // Right edge, moving up
+                z++;
+            } else if (z == ring && x > -ring) { // Top edge, moving left
+                x--;
+            } else if (x == -ring && z > -ring) { // Left edge, moving down
+                z--;
+            } else {                             // Bottom edge, moving right
+                x++;
+            }
+        }
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public int x() {
+            return x;
+        }
+
+        @Override
+        public int z() {
+            return z;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Immutable snapshot of the placement settings.
+ * Captured on the server thread so background workers never read the live config.
+ *
+ * @param spacingChunks Distance between placement points in chunks.
+ * @param centerOffsetX Global X offset (in chunks) for the placement center.
+ * @param centerOffsetZ Global Z offset (in chunks) for the placement center.
+ * @param mode          Order in which points are handed out; see {@link PlacementStrategy}.
+ */
+public record SpiralLayout(int spacingChunks, int centerOffsetX, int centerOffsetZ, CPSConfig.PlacementMode mode) {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * A square spiral layout.
+     */
+    public SpiralLayout(int spacingChunks, int centerOffsetX, int centerOffsetZ) {
+        this(spacingChunks, centerOffsetX, centerOffsetZ, CPSConfig.PlacementMode.SPIRAL);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Reads the current layout from {@link CPSConfig}.
+     * In region-aligned mode the spacing and offsets are snapped so every point is the middle chunk of its own region file.
+     */
+    public static SpiralLayout fromConfig() {
+        SpiralLayout layout = new SpiralLayout(
+                CPSConfig.GRID_SPACING_CHUNKS.get(),
+                CPSConfig.CENTER_OFFSET_X.get(),
+                CPSConfig.CENTER_OFFSET_Z.get(),
+                CPSConfig.PLACEMENT_STRATEGY.get()
+        );
+        return CPSConfig.REGION_ALIGNED_PLACEMENT.get() ? layout.regionAligned() : layout;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public PlacementStrategy strategy() {
+        return PlacementStrategy.of(mode);
+    }
+
+    /**
+     * @return This layout with its spacing and offsets snapped to region files, or unchanged if its lattice is not square.
+     */
+    public SpiralLayout regionAligned() {
+        if (!strategy().isSquareLattice()) return this;
+        return new SpiralLayout(
+                SpiralCalculator.regionAlignedSpacing(spacingChunks),
+                SpiralCalculator.regionAlignedOffset(centerOffsetX),
+                SpiralCalculator.regionAlignedOffset(centerOffsetZ),
+                mode
+        );
+    }
+
+    /**
+     * @return A cursor over this layout's points, positioned at {@code startIndex}.
+     */
+    public PlacementStrategy.Cursor cursor(int startIndex) {
+        return strategy().cursor(startIndex);
+    }
+
+    /**
+     * @return The chunk assigned to the given index under this layout.
+     */
+    public ChunkPos chunkForIndex(int index) {
+        if (mode == CPSConfig.PlacementMode.SPIRAL) {
+            return SpiralCalculator.chunkForIndex(index, spacingChunks, centerOffsetX, centerOffsetZ);
+        }
+        SpiralCalculator.IntPoint p = strategy().unitForIndex(index);
+        return new ChunkPos(chunkX(p.x(), p.z()), chunkZ(p.x(), p.z()));
+    }
+
+    /**
+     * @return The chunk under the cursor's current index.
+     */
+    public ChunkPos chunkAt(PlacementStrategy.Cursor cursor) {
+        return new ChunkPos(chunkX(cursor.x(), cursor.z()), chunkZ(cursor.x(), cursor.z()));
+    }
+
+    /**
+     * @return The block X at the center of the chunk under the cursor.
+     */
+    public int centerBlockX(PlacementStrategy.Cursor cursor) {
+        return (chunkX(cursor.x(), cursor.z()) << 4) + 8;
+    }
+
+    /**
+     * @return The block Z at the center of the chunk under the cursor.
+     */
+    public int centerBlockZ(PlacementStrategy.Cursor cursor) {
+        return (chunkZ(cursor.x(), cursor.z()) << 4) + 8;
+    }
+
+    /**
+     * @return The index whose point is the given chunk, or -1 if the chunk is not a placement point.
+     */
+    public int indexForChunk(ChunkPos chunk) {
+        if (mode == CPSConfig.PlacementMode.SPIRAL) {
+            return SpiralCalculator.indexForChunk(chunk.x, chunk.z, spacingChunks, centerOffsetX, centerOffsetZ);
+        }
+        SpiralCalculator.IntPoint p = strategy().unitForOffset((long) chunk.x - centerOffsetX, (long) chunk.z - centerOffsetZ, spacingChunks);
+        return p == null ? -1 : strategy().indexForUnit(p.x(), p.z());
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private int chunkX(int unitX, int unitZ) {
+        return strategy().offsetX(unitX, unitZ, spacingChunks) + centerOffsetX;
+    }
+
+    private int chunkZ(int unitX, int unitZ) {
+        return strategy().offsetZ(unitX, unitZ, spacingChunks) + centerOffsetZ;
+    }
+}
@@ -1,27 +1,30 @@
 package com.dawson.chunkpartyspreader;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.level.TicketType;
-import net.minecraft.tags.BiomeTags;
-import net.minecraft.tags.BlockTags;
 import net.minecraft.world.level.ChunkPos;
-import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.RespawnAnchorBlock;
-import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
 
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Mod.EventBusSubscriber(modid = ChunkPartySpreader.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
@@ -29,19 +32,38 @@ public final class SpreaderEvents {
 
     // --- State Management for Stasis ---
     // Tracks players floating in the sky waiting for their chunk to generate.
+    // The wheel decides which of them are checked on a given tick; the map only holds their state.
     private static final Map<UUID, PendingTeleport> PENDING_TARGETS = new HashMap<>();
-    private static final String TAG_WAITING = "cps_waiting_for_chunk";
+    // Waiting players by target chunk, so a chunk load finds its players without scanning every pending entry.
+    private static final Long2ObjectOpenHashMap<Set<UUID>> PENDING_BY_CHUNK = new Long2ObjectOpenHashMap<>();
+    private static final TickWheel<UUID> STASIS_WHEEL = new TickWheel<>(64);
+    static final String TAG_WAITING = "cps_waiting_for_chunk";
     private static final int TIMEOUT_TICKS = 600; // 30 seconds max wait
+    private static final int MAX_SEARCH_ATTEMPTS = 10000;
+    private static final int PROBE_INTERVAL_TICKS = 5; // Cheap heightmap probe cadence per player
+    private static final int FALLBACK_POLL_TICKS = 20; // Safety net if no completion signal arrives
+    private static final int STABILITY_RECHECK_TICKS = 5; // Ground must read the same twice this far apart
 
-    // StabilityCounter to track how many checks the chunk has passed
+    // Players assigned together are released together; members that are ready wait here for the rest.
+    private static final Map<Integer, Set<UUID>> PARTIES = new HashMap<>();
+    private static int nextPartyId = 1;
+
+    // Completion signals arm a verification; the ground must then hold still for one recheck.
     private static class PendingTeleport {
         final ChunkPos targetChunk;
         final long startTick;
-        int stabilityCounter = 0;
-
-        PendingTeleport(ChunkPos targetChunk, long startTick) {
+        final int party; // 0 when the player is alone
+        boolean signalled = false;
+        long lastVerifyTick;
+        int lastGroundY = Integer.MIN_VALUE;
+        boolean groundSeen = false;
+        BlockPos readyHome; // set once a party member's ground is stable
+
+        PendingTeleport(ChunkPos targetChunk, long startTick, int party) {
             this.targetChunk = targetChunk;
             this.startTick = startTick;
+            this.party = party;
+            this.lastVerifyTick = startTick;
         }
     }
 
@@ -63,85 +85,118 @@ public final class SpreaderEvents {
         }
 
         // B. Align World Spawn to Spiral Index 0
-        int offX = CPSConfig.CENTER_OFFSET_X.get();
-        int offZ = CPSConfig.CENTER_OFFSET_Z.get();
+        ChunkPos center = SpiralLayout.fromConfig().chunkForIndex(0);
 
-        int blockX = (offX * 16) + 8;
-        int blockZ = (offZ * 16) + 8;
+        int blockX = center.getMinBlockX() + 8;
+        int blockZ = center.getMinBlockZ() + 8;
         BlockPos targetSpawn = new BlockPos(blockX, 64, blockZ);
 
         ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Aligning Default World Spawn to Spiral Center: {}", targetSpawn);
         level.setDefaultSpawnPos(targetSpawn, 0.0f);
+
+        // C. Load the offline seed plan, if one was copied into the world
+        PlacementPlan.load(level);
+
+        // D. Start classifying upcoming spiral indices off-thread, beyond whatever the plan covers
+        int scanFrom = SpreaderWorldData.get(level).getCurrentSpiralIndex();
+        PlacementPlan plan = PlacementPlan.active();
+        if (plan != null) {
+            scanFrom = Math.max(scanFrom, plan.end());
+        }
+        BiomePrescanner.start(level, scanFrom);
+    }
+
+    // --- 1b. Server Stopping: Shut Down Background Workers ---
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        JoinStorm.stop(event.getServer());
+        BiomePrescanner.stop();
+        PlacementPlan.unload();
+        GenerationQueue.clear();
+        JoinAdmission.clear();
+        SpreaderSpawnFixes.clear();
+        RespawnTargets.clear();
+        SlotRecycler.clear();
+        PENDING_TARGETS.clear();
+        PENDING_BY_CHUNK.clear();
+        PARTIES.clear();
+        STASIS_WHEEL.clear();
+        ChunkTickets.releaseAll(event.getServer());
+    }
+
+    // --- 1c. Server Stopped: Finish Snapshot Writes, Then Close Journals ---
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        SnapshotWriter.awaitPending();
+        AssignmentJournal.closeAll();
     }
 
     // --- 2. First-Join Logic  ---
     @SubscribeEvent(priority = EventPriority.HIGH)
     public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player && !player.level().isClientSide) {
-            processPlayerJoin(player);
+            JoinAdmission.admit(player);
+        }
+    }
+
+    // --- 2b. Logout: Stop Holding the Stasis Chunk ---
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) return;
+
+        if (JoinAdmission.cancel(player.getUUID())) {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - {} logged out while queued for assignment.", player.getName().getString());
+        } else if (isPending(player.getUUID())) {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - {} logged out during stasis. Releasing their chunk ticket.", player.getName().getString());
+            cancelStasis(player.server.overworld(), player.getUUID());
         }
     }
 
-    // --- 3. Stasis Polling (Server Tick) ---
+    // --- 3. Stasis Release (Server Tick) ---
     @SubscribeEvent
     public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END || PENDING_TARGETS.isEmpty()) return;
+        if (event.phase != TickEvent.Phase.END) return;
 
         MinecraftServer server = event.getServer();
         if (server == null) return;
 
-        Iterator<Map.Entry<UUID, PendingTeleport>> it = PENDING_TARGETS.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<UUID, PendingTeleport> entry = it.next();
-            UUID uuid = entry.getKey();
-            PendingTeleport pending = entry.getValue();
+        CPSMetrics.tick(server);
+        JoinStorm.tick(server);
+        SlotRecycler.tick(server);
+        JoinAdmission.tick(server);
 
-            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
-            if (player == null) {
-                it.remove();
-                continue;
-            }
+        ChunkTickets.tick(server);
+        SpreaderSpawnFixes.tick(server);
+        RespawnTargets.tick(server);
 
-            // Poll every 20 ticks
-            if (player.getServer().getTickCount() % 20 != 0) continue;
+        // Generation dispatch runs first so requests queued this tick can start right away.
+        GenerationQueue.tick(server);
 
-            ServerLevel level = player.serverLevel();
-            int centerBlockX = pending.targetChunk.getMinBlockX() + 8;
-            int centerBlockZ = pending.targetChunk.getMinBlockZ() + 8;
+        // Warm pool refills only spend generation budget while nobody is waiting in stasis or admission.
+        WarmPool.tick(server, PENDING_TARGETS.isEmpty() && JoinAdmission.queuedCount() == 0);
+        if (PENDING_TARGETS.isEmpty()) return;
 
-            int groundY = getTrueSurfaceY(level, centerBlockX, centerBlockZ);
-            int minBuild = level.getMinBuildHeight();
+        // Only the bucket due this tick is visited; overflow past the budget slides to the next tick.
+        long now = server.getTickCount();
+        long budgetNanos = CPSConfig.STASIS_TICK_BUDGET_MICROS.get() * 1000L;
+        STASIS_WHEEL.drain(now, budgetNanos, uuid -> checkPending(server, uuid, now));
+    }
 
-            boolean isGroundDetected = groundY > minBuild + 1;
-            boolean isTimeout = (player.getServer().getTickCount() - pending.startTick) > TIMEOUT_TICKS;
+    // --- 3b. Completion Signal: Target Chunk Loaded ---
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        // Only full chunks; proto chunk loads fire on worldgen threads.
+        if (PENDING_TARGETS.isEmpty() || !(event.getChunk() instanceof LevelChunk chunk) || !(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
 
-            if (isGroundDetected) {
-                pending.stabilityCounter++;
-                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Ground detected at Y={}. Stability {}/3", groundY, pending.stabilityCounter);
-            } else {
-                pending.stabilityCounter = 0;
-            }
+        Set<UUID> waiting = PENDING_BY_CHUNK.get(chunk.getPos().toLong());
+        if (waiting == null) return;
 
-            if (pending.stabilityCounter >= 3) {
-                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Chunk stable! Releasing {}.", player.getName().getString());
-
-                BlockPos finalHome = new BlockPos(centerBlockX, groundY + 1, centerBlockZ);
-                SpreaderWorldData.get(level).putAssignment(uuid, finalHome);
-
-                level.getChunkSource().removeRegionTicket(TicketType.PLAYER, pending.targetChunk, 3, pending.targetChunk);
-                player.removeTag(TAG_WAITING);
-                player.setNoGravity(false);
-                player.teleportTo(level, finalHome.getX() + 0.5, finalHome.getY(), finalHome.getZ() + 0.5, player.getYRot(), player.getXRot());
-                player.setRespawnPosition(level.dimension(), finalHome, player.getYRot(), true, false);
-
-                it.remove();
-            } else if (isTimeout) {
-                ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Generation timeout (60s) for {}. Releasing to gravity (fallback).", player.getName().getString());
-                level.getChunkSource().removeRegionTicket(TicketType.PLAYER, pending.targetChunk, 3, pending.targetChunk);
-                player.removeTag(TAG_WAITING);
-                player.setNoGravity(false);
-                it.remove();
-            }
+        long nextTick = level.getServer().getTickCount() + 1;
+        for (UUID uuid : waiting) {
+            PENDING_TARGETS.get(uuid).signalled = true;
+            STASIS_WHEEL.schedule(uuid, nextTick);
         }
     }
 
@@ -157,7 +212,7 @@ public final class SpreaderEvents {
         MinecraftServer server = player.getServer();
         if (server == null) return;
 
-        if (hasValidSpawnBlockOrForced(player, server)) {
+        if (RespawnTargets.hasValidSpawnBlockOrForced(player, server)) {
             ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Player has valid/forced spawn. No intervention.");
             return;
         }
@@ -184,6 +239,114 @@ public final class SpreaderEvents {
      * Separated from the event for synthetic testing.
      */
     public static void processPlayerJoin(ServerPlayer player) {
+        long start = System.nanoTime();
+        handleJoin(player);
+        CPSMetrics.JOIN_MICROS.record(CPSMetrics.microsSince(start));
+    }
+
+    /**
+     * Finds the next usable spiral index, advances the persistent counter past it, and returns it.
+     * Recycled slots from the free list are handed out first, since they sit closer to the center.
+     * Otherwise uses the background prescanner when possible and falls back to live biome sampling.
+     */
+    static int reserveNextIndex(ServerLevel level, SpreaderWorldData data, SpiralLayout layout) {
+        int recycled = data.takeFreeIndex(layout);
+        if (recycled >= 0) {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Reusing recycled spiral index {}.", recycled);
+            return recycled;
+        }
+
+        long start = System.nanoTime();
+        int startIndex = data.getCurrentSpiralIndex();
+        int idx = findNextIndex(level, data, startIndex, layout);
+
+        CPSMetrics.BIOME_SEARCH_MICROS.record(CPSMetrics.microsSince(start));
+        CPSMetrics.INDICES_SKIPPED.add(idx - startIndex);
+
+        // Reserve Index
+        data.setCurrentSpiralIndex(idx + 1);
+        BiomePrescanner.onIndexConsumed(idx + 1);
+        return idx;
+    }
+
+    /**
+     * Finds the next {@code count} usable indices in spiral order without touching the counter.
+     * The free list is skipped so the block stays together; the caller commits the block in one step.
+     */
+    static int[] findIndexBlock(ServerLevel level, SpreaderWorldData data, SpiralLayout layout, int count) {
+        long start = System.nanoTime();
+        int startIndex = data.getCurrentSpiralIndex();
+        int[] indices = new int[count];
+        int idx = startIndex;
+        for (int i = 0; i < count; i++) {
+            indices[i] = findNextIndex(level, data, idx, layout);
+            idx = indices[i] + 1;
+        }
+
+        CPSMetrics.BIOME_SEARCH_MICROS.record(CPSMetrics.microsSince(start));
+        CPSMetrics.INDICES_SKIPPED.add(idx - startIndex - count);
+        return indices;
+    }
+
+    /**
+     * Simulation Helper: Check if a UUID is currently being tracked in stasis.
+     */
+    public static boolean isPending(UUID uuid) {
+        return PENDING_TARGETS.containsKey(uuid);
+    }
+
+    /**
+     * Drops a player from stasis tracking and releases their chunk ticket without teleporting them.
+     * Used when a player logs out mid-wait and when synthetic players are cleaned up.
+     * The player keeps the waiting tag, so stasis resumes if they join again.
+     */
+    public static void cancelStasis(ServerLevel level, UUID uuid) {
+        PendingTeleport pending = removePending(uuid);
+        if (pending == null) return;
+
+        STASIS_WHEEL.remove(uuid);
+        ChunkTickets.release(level, pending.targetChunk, ChunkTickets.Purpose.STASIS, uuid);
+        leaveParty(level.getServer(), uuid, pending, level.getServer().getTickCount());
+    }
+
+    /**
+     * Puts a party that was assigned together into stasis over their homes. Each member is checked on their own,
+     * but nobody is released until every member's home is ready.
+     *
+     * @param members Players in the same order as {@code homes}.
+     * @param homes   Each member's home chunk.
+     */
+    public static void beginPartyStasis(ServerLevel level, List<ServerPlayer> members, List<ChunkPos> homes) {
+        int party = nextPartyId++;
+        Set<UUID> ids = new LinkedHashSet<>();
+        long now = level.getServer().getTickCount();
+
+        for (int i = 0; i < members.size(); i++) {
+            ServerPlayer player = members.get(i);
+            ChunkPos home = homes.get(i);
+            ids.add(player.getUUID());
+
+            ChunkTickets.acquire(level, home, ChunkTickets.Purpose.STASIS, player.getUUID());
+            player.addTag(TAG_WAITING);
+            player.setNoGravity(true);
+            player.teleportTo(level, home.getMinBlockX() + 8.5, 320, home.getMinBlockZ() + 8.5, player.getYRot(), player.getXRot());
+            beginStasis(player.getUUID(), home, now, party);
+        }
+        PARTIES.put(party, ids);
+    }
+
+    /**
+     * @return The number of players currently waiting in stasis.
+     */
+    public static int pendingCount() {
+        return PENDING_TARGETS.size();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void handleJoin(ServerPlayer player) {
         ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Processing join for: {}", player.getName().getString());
 
         MinecraftServer server = player.getServer();
@@ -197,62 +360,47 @@ public final class SpreaderEvents {
         BlockPos existingAssignment = data.getAssignment(uuid);
         if (existingAssignment != null) {
             ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Player already has assignment at: {}", existingAssignment);
+            CPSMetrics.RETURNING_JOINS.increment();
 
             // Note: For FakePlayers in simulation, tags might not persist across 'joins' if object is recreated.
             if (player.getTags().contains(TAG_WAITING)) {
                 ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Player has waiting tag. Resuming stasis polling...");
                 ChunkPos cPos = new ChunkPos(existingAssignment);
-                PENDING_TARGETS.put(uuid, new PendingTeleport(cPos, server.getTickCount()));
+                beginStasis(uuid, cPos, server.getTickCount());
 
                 player.setNoGravity(true);
                 player.teleportTo(level, existingAssignment.getX() + 0.5, 320, existingAssignment.getZ() + 0.5, player.getYRot(), player.getXRot());
-                level.getChunkSource().addRegionTicket(TicketType.PLAYER, cPos, 3, cPos);
+                ChunkTickets.acquire(level, cPos, ChunkTickets.Purpose.STASIS, uuid);
             }
             return;
         }
 
-        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - No assignment found. Beginning spiral calculation...");
-
-        // B. Spiral Calculation
-        int spacing = CPSConfig.GRID_SPACING_CHUNKS.get();
-        int offX = CPSConfig.CENTER_OFFSET_X.get();
-        int offZ = CPSConfig.CENTER_OFFSET_Z.get();
-        boolean skipOceans = CPSConfig.SKIP_OCEANS.get();
-
-        int idx = data.getCurrentSpiralIndex();
-        ChunkPos chosenChunk = null;
-
-        for (int attempts = 0; attempts < 10000; attempts++) {
-            ChunkPos candidate = SpiralCalculator.chunkForIndex(idx, spacing, offX, offZ);
-
-            int bx = candidate.getMinBlockX() + 8;
-            int bz = candidate.getMinBlockZ() + 8;
-            BlockPos biomePos = new BlockPos(bx, level.getSeaLevel(), bz);
-
-            // Checks for Ocean OR River
-            boolean isOcean = level.getBiome(biomePos).is(BiomeTags.IS_OCEAN);
-            boolean isRiver = level.getBiome(biomePos).is(BiomeTags.IS_RIVER);
-
-            if (skipOceans && (isOcean || isRiver)) {
-                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Skipping Index {} at {} (Biome: {}).",
-                        idx, candidate, isOcean ? "Ocean" : "River");
-                idx++;
-                data.setCurrentSpiralIndex(idx);
-                continue;
-            }
+        CPSMetrics.FIRST_JOINS.increment();
 
-            chosenChunk = candidate;
-            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Found valid chunk at index {}: {}", idx, chosenChunk);
-            break;
-        }
+        // B. Warm Pool Hand-Out
+        WarmPool.Claim warm = WarmPool.claim(level, data);
+        if (warm != null && warm.slot().isReady()) {
+            ChunkPos warmChunk = warm.chunk();
+            BlockPos home = new BlockPos(warmChunk.getMinBlockX() + 8, warm.slot().surfaceY() + 1, warmChunk.getMinBlockZ() + 8);
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Handing out pre-generated warm slot {} at {}. Skipping stasis.", warm.slot().index(), home);
 
-        if (chosenChunk == null) {
-            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to find valid chunk after 10000 attempts. Using fallback.");
-            chosenChunk = SpiralCalculator.chunkForIndex(idx, spacing, offX, offZ);
+            data.putAssignment(uuid, home);
+            CPSMetrics.WARM_HANDOUTS.increment();
+            player.teleportTo(level, home.getX() + 0.5, home.getY(), home.getZ() + 0.5, player.getYRot(), player.getXRot());
+            player.setRespawnPosition(level.dimension(), home, player.getYRot(), true, false);
+            return;
         }
 
         // C. Reserve Index & Save Assignment
-        data.setCurrentSpiralIndex(idx + 1);
+        ChunkPos chosenChunk;
+        if (warm != null) {
+            chosenChunk = warm.chunk();
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Claimed warm slot {} (still generating): {}", warm.slot().index(), chosenChunk);
+        } else {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - No assignment found. Beginning spiral calculation...");
+            SpiralLayout layout = SpiralLayout.fromConfig();
+            chosenChunk = layout.chunkForIndex(reserveNextIndex(level, data, layout));
+        }
 
         int blockX = chosenChunk.getMinBlockX() + 8;
         int blockZ = chosenChunk.getMinBlockZ() + 8;
@@ -260,19 +408,13 @@ public final class SpreaderEvents {
         data.putAssignment(uuid, tempPos);
 
         // D. Force Chunk Loading
-        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Adding PLAYER ticket to force load chunk {}", chosenChunk);
-        level.getChunkSource().addRegionTicket(TicketType.PLAYER, chosenChunk, 3, chosenChunk);
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Adding stasis ticket to force load chunk {}", chosenChunk);
+        ChunkTickets.acquire(level, chosenChunk, ChunkTickets.Purpose.STASIS, uuid);
 
-        // E. Trigger Generation (Direct API Call)
-        if (ModList.get().isLoaded("chunkbychunk")) {
-            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Requesting generation via ChunkByChunk API for {}", tempPos);
-            try {
-                boolean success = ChunkByChunkCompat.generateChunk(level, tempPos);
-                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - API Request Accepted: {}", success);
-            } catch (Exception e) {
-                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - API execution failed", e);
-            }
-        }
+        // E. Trigger Generation (queued ahead of any warm pool prefetch)
+        // A warm slot that is still generating is simply promoted; it is not requested twice.
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Queueing generation via ChunkByChunk API for {}", tempPos);
+        GenerationQueue.submit(chosenChunk, GenerationQueue.Priority.PLAYER);
 
         // F. Enable Stasis
         ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Putting player in stasis at Y=320 while chunk generates...");
@@ -280,57 +422,262 @@ public final class SpreaderEvents {
         player.setNoGravity(true);
         player.teleportTo(level, tempPos.getX() + 0.5, 320, tempPos.getZ() + 0.5, player.getYRot(), player.getXRot());
 
-        PENDING_TARGETS.put(uuid, new PendingTeleport(chosenChunk, server.getTickCount()));
+        beginStasis(uuid, chosenChunk, server.getTickCount());
     }
 
     /**
-     * Simulation Helper: Check if a UUID is currently being tracked in stasis.
+     * Walks the spiral from {@code idx} to the first usable index without reserving it.
      */
-    public static boolean isPending(UUID uuid) {
-        return PENDING_TARGETS.containsKey(uuid);
-    }
+    private static int findNextIndex(ServerLevel level, SpreaderWorldData data, int idx, SpiralLayout layout) {
+        boolean skipOceans = CPSConfig.SKIP_OCEANS.get();
+        IndexBitmap knownUnusable = data.getUnusableIndices();
+        int knownBefore = knownUnusable.size();
 
-    /* ──────────────────────────────────────────────────────────────────────────────
-     *        Private Helpers
-     * ────────────────────────────────────────────────────────────────────────────*/
+        ChunkPos chosenChunk = null;
+
+        // A. Planned Candidate (classified offline by SeedPlanner)
+        PlacementPlan plan = PlacementPlan.active();
+        if (skipOceans && plan != null && plan.covers(idx)) {
+            int planned = plan.nextUsable(idx);
+            if (planned > idx) {
+                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Seed plan skipped indices {}..{} (Ocean/River).", idx, planned - 1);
+                knownUnusable.addRange(idx, planned - idx);
+            }
+            idx = planned;
+            chosenChunk = layout.chunkForIndex(idx);
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Found planned chunk at index {}: {}", idx, chosenChunk);
+        }
+
+        // B. Prescanned Candidate (no biome sampling on the server thread)
+        if (skipOceans && chosenChunk == null) {
+            int ready = BiomePrescanner.pollReadyIndex(idx, layout);
+            if (ready >= 0) {
+                if (ready > idx) {
+                    ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Prescan skipped indices {}..{} (Ocean/River).", idx, ready - 1);
+                    // The prescanner scans contiguously, so everything it passed over was rejected.
+                    knownUnusable.addRange(idx, ready - idx);
+                }
+                idx = ready;
+                chosenChunk = layout.chunkForIndex(idx);
+                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Found prescanned chunk at index {}: {}", idx, chosenChunk);
+            }
+        }
+
+        // C. Live Search Fallback
+        if (chosenChunk == null && skipOceans) {
+            int found = BiomeClassifier.findUsableIndex(layout, idx, MAX_SEARCH_ATTEMPTS, (bx, bz) -> {
+                // Checks for Ocean OR River with a single biome lookup
+                byte classification = BiomeClassifier.classify(level.getBiome(new BlockPos(bx, level.getSeaLevel(), bz)));
+                if (!BiomeClassifier.isUsable(classification)) {
+                    ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Skipping block column ({}, {}) (Biome: {}).",
+                            bx, bz, BiomeClassifier.describe(classification));
+                }
+                return classification;
+            }, knownUnusable);
+
+            if (found >= 0) {
+                idx = found;
+                chosenChunk = layout.chunkForIndex(idx);
+                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Found valid chunk at index {}: {}", idx, chosenChunk);
+            } else {
+                idx += MAX_SEARCH_ATTEMPTS;
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to find valid chunk after {} attempts. Using fallback.", MAX_SEARCH_ATTEMPTS);
+            }
+        } else if (chosenChunk == null) {
+            chosenChunk = layout.chunkForIndex(idx);
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Found valid chunk at index {}: {}", idx, chosenChunk);
+        }
+
+        if (knownUnusable.size() != knownBefore) {
+            data.onUnusableIndicesChanged();
+        }
+        return idx;
+    }
 
     /**
-     * Scans from the top of the world down to find the first non-air, non-leaf block.
-     * This bypasses potentially stale Heightmaps in newly generated chunks.
+     * Runs one scheduled stasis check and, unless the player was released, books the next one.
      */
-    private static int getTrueSurfaceY(ServerLevel level, int x, int z) {
-        int maxY = level.getMaxBuildHeight() - 1;
-        int minY = level.getMinBuildHeight();
-        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(x, maxY, z);
-
-        for (int y = maxY; y > minY; y--) {
-            pos.setY(y);
-            BlockState state = level.getBlockState(pos);
-            if (!state.isAir() && !state.is(BlockTags.LEAVES)) {
-                return y;
+    private static void checkPending(MinecraftServer server, UUID uuid, long now) {
+        PendingTeleport pending = PENDING_TARGETS.get(uuid);
+        if (pending == null) return;
+
+        // Synthetic load-test players are not in the player list.
+        ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+        if (player == null) {
+            player = JoinStorm.getSyntheticPlayer(uuid);
+        }
+        if (player == null) {
+            cancelStasis(server.overworld(), uuid);
+            return;
+        }
+
+        ServerLevel level = player.serverLevel();
+        int minBuild = level.getMinBuildHeight();
+
+        // A. Completion Signal: the loaded target chunk reports terrain in its heightmap
+        // One chunk reference serves both the probe and the verification; nothing is force-loaded.
+        LevelChunk chunk = level.getChunkSource().getChunkNow(pending.targetChunk.x, pending.targetChunk.z);
+        if (!pending.signalled && chunk != null) {
+            pending.signalled = chunk.getHeight(Heightmap.Types.WORLD_SURFACE, 8, 8) > minBuild + 1;
+        }
+
+        // Time spent waiting for a free generation slot does not count toward the timeout.
+        boolean isTimeout = (now - pending.startTick) > TIMEOUT_TICKS && !GenerationQueue.isQueued(pending.targetChunk);
+        boolean isFallbackPoll = (now - pending.lastVerifyTick) >= FALLBACK_POLL_TICKS;
+        if (!pending.signalled && !isFallbackPoll && !isTimeout) {
+            STASIS_WHEEL.schedule(uuid, now + PROBE_INTERVAL_TICKS);
+            return;
+        }
+        pending.lastVerifyTick = now;
+
+        // B. Verification (section-aware scan, heightmaps may be stale)
+        int centerBlockX = pending.targetChunk.getMinBlockX() + 8;
+        int centerBlockZ = pending.targetChunk.getMinBlockZ() + 8;
+
+        int groundY = chunk != null ? SurfaceFinder.findSurfaceY(chunk, centerBlockX, centerBlockZ) : minBuild;
+
+        boolean isGroundDetected = groundY > minBuild + 1;
+        boolean isStable = isGroundDetected && groundY == pending.lastGroundY;
+
+        if (isGroundDetected && !pending.groundSeen) {
+            pending.groundSeen = true;
+            CPSMetrics.TICKS_TO_GROUND.record(now - pending.startTick);
+        }
+
+        if (isGroundDetected && !isStable) {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Ground detected at Y={}. Confirming in {} ticks.", groundY, STABILITY_RECHECK_TICKS);
+            pending.signalled = true;
+        }
+        pending.lastGroundY = isGroundDetected ? groundY : Integer.MIN_VALUE;
+
+        // C. Release or Timeout
+        if (isStable) {
+            BlockPos finalHome = new BlockPos(centerBlockX, groundY + 1, centerBlockZ);
+            if (pending.party != 0) {
+                // Party members hold until every home in the party is ready; the last one releases them all.
+                pending.readyHome = finalHome;
+                if (!releasePartyIfReady(server, pending.party, now)) {
+                    ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - {} is ready; waiting for the rest of their party.", player.getName().getString());
+                }
+                return;
             }
+            release(player, uuid, pending, finalHome, now);
+        } else if (isTimeout) {
+            ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Generation timeout (60s) for {}. Releasing to gravity (fallback).", player.getName().getString());
+            ChunkTickets.release(level, pending.targetChunk, ChunkTickets.Purpose.STASIS, uuid);
+            player.removeTag(TAG_WAITING);
+            player.setNoGravity(false);
+            removePending(uuid);
+            CPSMetrics.STASIS_TIMEOUTS.increment();
+            JoinStorm.onStasisEnded(uuid, false);
+            leaveParty(server, uuid, pending, now);
+        } else {
+            STASIS_WHEEL.schedule(uuid, now + (pending.signalled ? STABILITY_RECHECK_TICKS : PROBE_INTERVAL_TICKS));
         }
-        return minY;
     }
 
-    private static boolean hasValidSpawnBlockOrForced(ServerPlayer player, MinecraftServer server) {
-        if (player.isRespawnForced()) return true;
+    /**
+     * Adds a player to stasis tracking and books their first check.
+     * The first check is offset by the UUID hash so simultaneous joins land on different ticks.
+     */
+    private static void beginStasis(UUID uuid, ChunkPos targetChunk, long now) {
+        beginStasis(uuid, targetChunk, now, 0);
+    }
 
-        BlockPos respawnPos = player.getRespawnPosition();
-        if (respawnPos == null) return false;
+    private static void beginStasis(UUID uuid, ChunkPos targetChunk, long now, int party) {
+        removePending(uuid);
+        PENDING_TARGETS.put(uuid, new PendingTeleport(targetChunk, now, party));
+        PENDING_BY_CHUNK.computeIfAbsent(targetChunk.toLong(), k -> new HashSet<>()).add(uuid);
+        STASIS_WHEEL.schedule(uuid, now + 1 + Math.floorMod(uuid.hashCode(), PROBE_INTERVAL_TICKS));
+    }
 
-        ServerLevel respawnLevel = server.getLevel(player.getRespawnDimension());
-        if (respawnLevel == null) return false;
+    /**
+     * Drops a player from the pending map and the chunk index.
+     *
+     * @return The removed entry, or null if the player was not pending.
+     */
+    private static PendingTeleport removePending(UUID uuid) {
+        PendingTeleport pending = PENDING_TARGETS.remove(uuid);
+        if (pending == null) return null;
+
+        long key = pending.targetChunk.toLong();
+        Set<UUID> waiting = PENDING_BY_CHUNK.get(key);
+        if (waiting != null && waiting.remove(uuid) && waiting.isEmpty()) {
+            PENDING_BY_CHUNK.remove(key);
+        }
+        return pending;
+    }
 
-        BlockState state = respawnLevel.getBlockState(respawnPos);
+    /**
+     * Lands a player on their verified home and ends their stasis.
+     */
+    private static void release(ServerPlayer player, UUID uuid, PendingTeleport pending, BlockPos finalHome, long now) {
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Chunk stable! Releasing {} after {} ticks.", player.getName().getString(), now - pending.startTick);
+        ServerLevel level = player.serverLevel();
+        SpreaderWorldData.get(level).putAssignment(uuid, finalHome);
+
+        ChunkTickets.release(level, pending.targetChunk, ChunkTickets.Purpose.STASIS, uuid);
+        player.removeTag(TAG_WAITING);
+        player.setNoGravity(false);
+        player.teleportTo(level, finalHome.getX() + 0.5, finalHome.getY(), finalHome.getZ() + 0.5, player.getYRot(), player.getXRot());
+        player.setRespawnPosition(level.dimension(), finalHome, player.getYRot(), true, false);
+
+        removePending(uuid);
+        CPSMetrics.STASIS_RELEASES.increment();
+        CPSMetrics.TICKS_TO_RELEASE.record(now - pending.startTick);
+        JoinStorm.onStasisEnded(uuid, true);
+    }
 
-        if (state.is(BlockTags.BEDS)) return true;
+    /**
+     * Releases every member of the party if all of their homes are ready.
+     *
+     * @return True if the party was released.
+     */
+    private static boolean releasePartyIfReady(MinecraftServer server, int party, long now) {
+        Set<UUID> members = PARTIES.get(party);
+        if (members == null) return false;
+
+        // A member no longer waiting in this party has left it, whichever path dropped them.
+        members.removeIf(member -> {
+            PendingTeleport pending = PENDING_TARGETS.get(member);
+            return pending == null || pending.party != party;
+        });
+        for (UUID member : members) {
+            if (PENDING_TARGETS.get(member).readyHome == null) return false;
+        }
 
-        if (state.is(Blocks.RESPAWN_ANCHOR)) {
-            Integer charge = state.getValue(RespawnAnchorBlock.CHARGE);
-            return charge > 0;
+        PARTIES.remove(party);
+        if (members.isEmpty()) return true;
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Every home in party {} is ready. Releasing {} players together.", party, members.size());
+        for (UUID member : members) {
+            PendingTeleport pending = PENDING_TARGETS.get(member);
+            if (pending == null) continue; // Never hand a missing entry to release()
+            ServerPlayer player = server.getPlayerList().getPlayer(member);
+            if (player == null) {
+                player = JoinStorm.getSyntheticPlayer(member);
+            }
+            if (player == null) {
+                cancelStasis(server.overworld(), member);
+            } else {
+                release(player, member, pending, pending.readyHome, now);
+            }
         }
+        return true;
+    }
 
-        return false;
+    /**
+     * Drops a player that left stasis early from their party; the rest may now all be ready.
+     */
+    private static void leaveParty(MinecraftServer server, UUID uuid, PendingTeleport pending, long now) {
+        if (pending.party == 0) return;
+        Set<UUID> members = PARTIES.get(pending.party);
+        if (members == null) return;
+
+        members.remove(uuid);
+        if (members.isEmpty()) {
+            PARTIES.remove(pending.party);
+        } else {
+            releasePartyIfReady(server, pending.party, now);
+        }
     }
 }
\ No newline at end of file
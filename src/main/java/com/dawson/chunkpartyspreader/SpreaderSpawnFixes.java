@@ -1,16 +1,31 @@
 package com.dawson.chunkpartyspreader;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Catches players who log in or respawn above void and gives them something to stand on.
+ * <p>
+ * The check never loads chunks on the server thread: the login or respawn only takes a ticket on the
+ * player's chunk, and {@link #tick} applies the platform or teleport on a later tick once the chunk is in memory.
+ */
 @Mod.EventBusSubscriber(modid = ChunkPartySpreader.MODID)
 public final class SpreaderSpawnFixes {
 
@@ -19,6 +34,11 @@ public final class SpreaderSpawnFixes {
     // Guard to prevent infinite recursion when re-firing the set spawn event
     private static final ThreadLocal<Boolean> IS_ADJUSTING_SPAWN = ThreadLocal.withInitial(() -> false);
 
+    // A chunk that is still not loaded after this long is given up on rather than held forever.
+    private static final int CHECK_TIMEOUT_TICKS = 600;
+
+    private static final Map<UUID, PendingCheck> PENDING = new HashMap<>();
+
     /* ──────────────────────────────────────────────────────────────────────────────
      *        Event Handlers
      * ────────────────────────────────────────────────────────────────────────────*/
@@ -28,41 +48,128 @@ public final class SpreaderSpawnFixes {
     @SubscribeEvent
     public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
-            ensureNotVoid(player);
+            scheduleCheck(player);
         }
     }
 
     @SubscribeEvent
     public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
-            ensureNotVoid(player);
+            scheduleCheck(player);
         }
     }
 
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Runs the void checks whose chunk has finished loading. Called once per server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        if (PENDING.isEmpty()) return;
+
+        int now = server.getTickCount();
+        Iterator<Map.Entry<UUID, PendingCheck>> it = PENDING.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, PendingCheck> entry = it.next();
+            PendingCheck check = entry.getValue();
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+
+            // A. Player Left or Entered Stasis
+            if (player == null || isInStasis(player)) {
+                it.remove();
+                release(server, entry.getKey(), check);
+                continue;
+            }
+
+            // B. Player Moved Since the Check Was Scheduled (e.g. the respawn home teleport)
+            ChunkPos current = player.chunkPosition();
+            if (player.level().dimension() != check.dimension() || !current.equals(check.chunk())) {
+                release(server, entry.getKey(), check);
+                check = new PendingCheck(player.level().dimension(), current, now + CHECK_TIMEOUT_TICKS);
+                entry.setValue(check);
+                ChunkTickets.acquire(player.serverLevel(), current, ChunkTickets.Purpose.VOID_CHECK, entry.getKey());
+            }
+
+            // C. Wait for the Chunk
+            ServerLevel level = player.serverLevel();
+            LevelChunk chunk = level.getChunkSource().getChunkNow(current.x, current.z);
+            if (chunk == null) {
+                if (now >= check.deadlineTick()) {
+                    ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Gave up on void check for {}: chunk {} did not load within {} ticks.",
+                            player.getName().getString(), current, CHECK_TIMEOUT_TICKS);
+                    it.remove();
+                    release(server, entry.getKey(), check);
+                }
+                continue;
+            }
+
+            // D. Apply
+            it.remove();
+            release(server, entry.getKey(), check);
+            ensureNotVoid(player, level, chunk);
+        }
+    }
+
+    /**
+     * @return True while a void check for this player is waiting on its chunk.
+     */
+    public static boolean isChecking(UUID uuid) {
+        return PENDING.containsKey(uuid);
+    }
+
+    /**
+     * Forgets every pending check. Tickets are released separately by {@link ChunkTickets#releaseAll}.
+     */
+    public static void clear() {
+        PENDING.clear();
+    }
+
     /* ──────────────────────────────────────────────────────────────────────────────
      *        Private Helpers
      * ────────────────────────────────────────────────────────────────────────────*/
 
-    private static void ensureNotVoid(ServerPlayer player) {
+    private static void scheduleCheck(ServerPlayer player) {
         if (!ModList.get().isLoaded("chunkbychunk")) return;
 
         // Check for Stasis Tag
         // If the player is currently waiting for the chunk to generate via SpreaderEvents,
         // Do not interfere. SpreaderEvents has them floating safely at Y=320 with NoGravity.
-        if (player.getTags().contains("cps_waiting_for_chunk")) {
+        if (isInStasis(player)) {
             ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Skipping void check for {} (In Stasis).", player.getName().getString());
             return;
         }
 
         ServerLevel level = player.serverLevel();
+        ChunkPos chunk = player.chunkPosition();
+        PendingCheck previous = PENDING.put(player.getUUID(),
+                new PendingCheck(level.dimension(), chunk, player.server.getTickCount() + CHECK_TIMEOUT_TICKS));
+        if (previous != null) {
+            release(player.server, player.getUUID(), previous);
+        }
+        ChunkTickets.acquire(level, chunk, ChunkTickets.Purpose.VOID_CHECK, player.getUUID());
+    }
+
+    private static void release(MinecraftServer server, UUID uuid, PendingCheck check) {
+        ServerLevel level = server.getLevel(check.dimension());
+        if (level != null) {
+            ChunkTickets.release(level, check.chunk(), ChunkTickets.Purpose.VOID_CHECK, uuid);
+        }
+    }
+
+    private static boolean isInStasis(ServerPlayer player) {
+        return player.getTags().contains("cps_waiting_for_chunk");
+    }
+
+    private static void ensureNotVoid(ServerPlayer player, ServerLevel level, LevelChunk chunk) {
         BlockPos pos = player.blockPosition();
 
-        level.getChunk(pos);
-        int groundY = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, pos.getX(), pos.getZ());
+        int surfaceY = SurfaceFinder.findSurfaceY(chunk, pos.getX(), pos.getZ());
         int minY = level.getMinBuildHeight();
 
         // If ground is effectively at the bottom of the world
-        if (groundY > minY + 1) {
+        if (surfaceY > minY) {
             return;
         }
 
@@ -91,4 +198,10 @@ public final class SpreaderSpawnFixes {
         player.setDeltaMovement(Vec3.ZERO);
         player.fallDistance = 0.0f;
     }
-}
\ No newline at end of file
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private record PendingCheck(ResourceKey<Level> dimension, ChunkPos chunk, int deadlineTick) {}
+}
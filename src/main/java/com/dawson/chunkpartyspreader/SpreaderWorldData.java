@@ -1,14 +1,27 @@
 package com.dawson.chunkpartyspreader;
 
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.storage.LevelResource;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -23,6 +36,25 @@ public class SpreaderWorldData extends SavedData {
 
     private static final String DATA_NAME = "chunkpartyspreader";
 
+    // Format 1: "Assignments" list of {UUID string, X, Y, Z} compounds.
+    // Format 2: parallel long arrays; UUIDs as (most, least) pairs, positions as BlockPos.asLong().
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * A spiral slot reserved ahead of any join.
+     *
+     * @param index    The reserved spiral index.
+     * @param chunk    The packed {@link net.minecraft.world.level.ChunkPos} of the slot.
+     * @param surfaceY The verified ground level, or {@link #NOT_READY} while still generating.
+     */
+    public record WarmSlot(int index, long chunk, int surfaceY) {
+        public static final int NOT_READY = Integer.MIN_VALUE;
+
+        public boolean isReady() {
+            return surfaceY != NOT_READY;
+        }
+    }
+
     /**
      * Factory method to create a new instance from NBT.
      */
@@ -31,16 +63,63 @@ public class SpreaderWorldData extends SavedData {
 
         // --- 1. Load Spiral Index ---
         data.currentSpiralIndex = tag.getInt("SpiralIndex");
+        data.snapshotSeq = tag.getLong("JournalSeq");
 
         // --- 2. Load Player Assignments ---
-        ListTag list = tag.getList("Assignments", Tag.TAG_COMPOUND);
-        for (int i = 0; i < list.size(); i++) {
-            CompoundTag entry = list.getCompound(i);
-            UUID uuid = UUID.fromString(entry.getString("UUID"));
-            int x = entry.getInt("X");
-            int y = entry.getInt("Y");
-            int z = entry.getInt("Z");
-            data.playerAssignments.put(uuid, new BlockPos(x, y, z));
+        int format = tag.getInt("Format");
+        if (format >= 2) {
+            long[] ids = tag.getLongArray("AssignmentIds");
+            long[] positions = tag.getLongArray("AssignmentPos");
+            int count = Math.min(ids.length / 2, positions.length);
+            data.playerAssignments.ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(ids[2 * i], ids[2 * i + 1]);
+                data.playerAssignments.put(uuid, positions[i]);
+            }
+        } else {
+            // Legacy list; the next save rewrites it in the compact format.
+            ListTag list = tag.getList("Assignments", Tag.TAG_COMPOUND);
+            data.playerAssignments.ensureCapacity(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                CompoundTag entry = list.getCompound(i);
+                UUID uuid = UUID.fromString(entry.getString("UUID"));
+                int x = entry.getInt("X");
+                int y = entry.getInt("Y");
+                int z = entry.getInt("Z");
+                data.playerAssignments.put(uuid, BlockPos.asLong(x, y, z));
+            }
+            if (!list.isEmpty()) {
+                ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Migrating {} assignments to compact format {}.", list.size(), FORMAT_VERSION);
+                data.setDirty();
+            }
+        }
+
+        // --- 3. Load Known-Unusable Indices ---
+        data.unusableIndices.loadRuns(tag.getIntArray("UnusableRuns"));
+        int[] unusableLayout = tag.getIntArray("UnusableLayout");
+        if (unusableLayout.length == 3) {
+            data.unusableLayout = new SpiralLayout(unusableLayout[0], unusableLayout[1], unusableLayout[2]);
+        } else if (unusableLayout.length == 4 && unusableLayout[3] >= 0 && unusableLayout[3] < CPSConfig.PlacementMode.values().length) {
+            data.unusableLayout = new SpiralLayout(unusableLayout[0], unusableLayout[1], unusableLayout[2],
+                    CPSConfig.PlacementMode.values()[unusableLayout[3]]);
+        }
+
+        // --- 4. Load Slot Recycling State ---
+        for (int index : tag.getIntArray("FreeIndices")) {
+            data.freeIndices.add(index);
+        }
+        long[] synthetic = tag.getLongArray("SyntheticIds");
+        for (int i = 0; i + 1 < synthetic.length; i += 2) {
+            data.syntheticPlayers.add(new UUID(synthetic[i], synthetic[i + 1]));
+        }
+
+        // --- 5. Load Warm Pool ---
+        int[] warmIndices = tag.getIntArray("WarmPoolIndex");
+        long[] warmChunks = tag.getLongArray("WarmPoolChunk");
+        int[] warmSurface = tag.getIntArray("WarmPoolY");
+        int warmCount = Math.min(warmIndices.length, Math.min(warmChunks.length, warmSurface.length));
+        for (int i = 0; i < warmCount; i++) {
+            data.warmSlots.add(new WarmSlot(warmIndices[i], warmChunks[i], warmSurface[i]));
         }
 
         return data;
@@ -52,11 +131,17 @@ public class SpreaderWorldData extends SavedData {
      */
     public static SpreaderWorldData get(ServerLevel anyLevel) {
         ServerLevel overworld = anyLevel.getServer().overworld();
-        return overworld.getDataStorage().computeIfAbsent(
+        SpreaderWorldData data = overworld.getDataStorage().computeIfAbsent(
                 SpreaderWorldData::load,
                 SpreaderWorldData::new,
                 DATA_NAME
         );
+
+        if (!data.journalChecked) {
+            data.checkLayout(SpiralLayout.fromConfig());
+            data.openJournal(overworld.getServer().getWorldPath(LevelResource.ROOT).resolve("data").resolve(DATA_NAME + ".journal"));
+        }
+        return data;
     }
 
     /* ──────────────────────────────────────────────────────────────────────────────
@@ -64,7 +149,26 @@ public class SpreaderWorldData extends SavedData {
      * ────────────────────────────────────────────────────────────────────────────*/
 
     private int currentSpiralIndex = 0;
-    private final Map<UUID, BlockPos> playerAssignments = new HashMap<>();
+    private final AssignmentStore playerAssignments = new AssignmentStore();
+    private final List<WarmSlot> warmSlots = new ArrayList<>();
+
+    // Biome verdicts outlive resets; they are only valid for the layout they were sampled under.
+    private final IndexBitmap unusableIndices = new IndexBitmap();
+    private SpiralLayout unusableLayout;
+
+    // Reclaimed indices below currentSpiralIndex, handed out lowest (closest to the center) first.
+    private final IntRBTreeSet freeIndices = new IntRBTreeSet();
+    // Players created by /cps_sim; always eligible for purging.
+    private final Set<UUID> syntheticPlayers = new HashSet<>();
+
+    // --- Journaled Persistence ---
+    private AssignmentJournal journal;
+    private Path retiredJournal;
+    private boolean journalChecked = false;
+    private long snapshotSeq = 0;
+    private long lastSnapshotMillis = System.currentTimeMillis();
+    // Set by the snapshot writer thread when an async write fails; the next save retries.
+    private volatile boolean snapshotFailed = false;
 
     /* ──────────────────────────────────────────────────────────────────────────────
      *        Constructors
@@ -78,25 +182,47 @@ public class SpreaderWorldData extends SavedData {
 
     @Override
     public CompoundTag save(CompoundTag tag) {
-        // --- 1. Save Spiral Index ---
-        tag.putInt("SpiralIndex", currentSpiralIndex);
-
-        // --- 2. Save Player Assignments ---
-        ListTag list = new ListTag();
-        for (Map.Entry<UUID, BlockPos> e : playerAssignments.entrySet()) {
-            CompoundTag entry = new CompoundTag();
-            entry.putString("UUID", e.getKey().toString());
+        return snapshot().writeTo(tag);
+    }
 
-            BlockPos pos = e.getValue();
-            entry.putInt("X", pos.getX());
-            entry.putInt("Y", pos.getY());
-            entry.putInt("Z", pos.getZ());
+    /**
+     * Writes the snapshot, then drops the journal records it now contains.
+     * With async snapshots, only the copy happens here; encoding, compression and the write run on the writer thread.
+     */
+    @Override
+    public void save(File file) {
+        if (snapshotFailed) {
+            snapshotFailed = false;
+            setDirty();
+        }
+        if (!isDirty()) return;
 
-            list.add(entry);
+        lastSnapshotMillis = System.currentTimeMillis();
+        if (!CPSConfig.ASYNC_SNAPSHOT_WRITES.get()) {
+            // Not super.save: it swallows write errors, and the journal must only be compacted once the file is on disk.
+            CompoundTag data = save(new CompoundTag());
+            setDirty(false);
+            try {
+                SnapshotWriter.write(file.toPath(), data);
+            } catch (IOException | RuntimeException e) {
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to write snapshot {}; keeping the journal.", file, e);
+                snapshotFailed = true;
+                return;
+            }
+            onSnapshotWritten(snapshotSeq, retiredJournal);
+            retiredJournal = null;
+            return;
         }
-        tag.put("Assignments", list);
 
-        return tag;
+        Snapshot snapshot = snapshot();
+        setDirty(false);
+
+        long seq = snapshotSeq;
+        Path retired = retiredJournal;
+        retiredJournal = null;
+        SnapshotWriter.submit(file.toPath(), () -> snapshot.writeTo(new CompoundTag()),
+                () -> onSnapshotWritten(seq, retired),
+                () -> snapshotFailed = true);
     }
 
     /**
@@ -111,7 +237,12 @@ public class SpreaderWorldData extends SavedData {
      */
     public void setCurrentSpiralIndex(int idx) {
         this.currentSpiralIndex = idx;
-        this.setDirty();
+        if (journal != null) {
+            journal.appendIndex(idx);
+            requestSnapshotIfDue();
+        } else {
+            this.setDirty();
+        }
     }
 
     /**
@@ -126,8 +257,183 @@ public class SpreaderWorldData extends SavedData {
      * Maps a player UUID to a BlockPos and marks the data as dirty.
      */
     public void putAssignment(UUID uuid, BlockPos pos) {
-        playerAssignments.put(uuid, pos);
-        this.setDirty();
+        playerAssignments.put(uuid, pos.asLong());
+        if (journal != null) {
+            journal.appendAssignment(uuid, pos);
+            requestSnapshotIfDue();
+        } else {
+            this.setDirty();
+        }
+    }
+
+    /**
+     * Stores several assignments and the new spiral counter as one change: the journal records are appended
+     * back to back, so they reach disk in the same group commit.
+     */
+    public void putAssignments(Map<UUID, BlockPos> homes, int nextSpiralIndex) {
+        homes.forEach((uuid, pos) -> playerAssignments.put(uuid, pos.asLong()));
+        this.currentSpiralIndex = nextSpiralIndex;
+        if (journal != null) {
+            homes.forEach(journal::appendAssignment);
+            journal.appendIndex(nextSpiralIndex);
+            requestSnapshotIfDue();
+        } else {
+            this.setDirty();
+        }
+    }
+
+    /**
+     * Deletes a player's home assignment and marks the data as dirty.
+     * @return True if the player had an assignment.
+     */
+    public boolean removeAssignment(UUID uuid) {
+        syntheticPlayers.remove(uuid);
+        if (!playerAssignments.remove(uuid)) return false;
+
+        if (journal != null) {
+            journal.appendRemoval(uuid);
+            requestSnapshotIfDue();
+        } else {
+            this.setDirty();
+        }
+        return true;
+    }
+
+    /**
+     * Visits every assignment as raw values: UUID halves and {@link BlockPos#asLong()}.
+     */
+    public void forEachAssignment(AssignmentStore.EntryVisitor visitor) {
+        playerAssignments.forEach(visitor);
+    }
+
+    /**
+     * Removes a player's assignment and puts their spiral index on the free list for the next join.
+     * Homes that are off the current grid, or beyond the spiral index, are removed without being recycled.
+     *
+     * @return True if the player had an assignment.
+     */
+    public boolean reclaimAssignment(UUID uuid, SpiralLayout layout) {
+        BlockPos home = playerAssignments.get(uuid);
+        if (home == null) return false;
+
+        removeAssignment(uuid);
+
+        int index = layout.indexForChunk(new ChunkPos(home));
+        if (index >= 0 && index < currentSpiralIndex && freeIndices.add(index)) {
+            if (journal != null) {
+                journal.appendFreeIndex(index, true);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes the lowest reclaimed index off the free list. Entries whose chunk has an owner again are discarded.
+     *
+     * @return The index, or -1 if the free list is empty.
+     */
+    public int takeFreeIndex(SpiralLayout layout) {
+        while (!freeIndices.isEmpty()) {
+            int index = freeIndices.firstInt();
+            freeIndices.remove(index);
+            if (journal != null) {
+                journal.appendFreeIndex(index, false);
+            } else {
+                this.setDirty();
+            }
+
+            if (getOwner(layout.chunkForIndex(index)) == null) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    public int getFreeIndexCount() {
+        return freeIndices.size();
+    }
+
+    /**
+     * Flags a player as created by the simulation commands.
+     */
+    public void markSynthetic(UUID uuid) {
+        if (!syntheticPlayers.add(uuid)) return;
+
+        if (journal != null) {
+            journal.appendSynthetic(uuid);
+            requestSnapshotIfDue();
+        } else {
+            this.setDirty();
+        }
+    }
+
+    public boolean isSynthetic(UUID uuid) {
+        return syntheticPlayers.contains(uuid);
+    }
+
+    /**
+     * Reverse lookup used by admin tools: which player's home lies in this chunk.
+     * @return The owner's UUID, or null if the chunk is not a home chunk.
+     */
+    public UUID getOwner(ChunkPos chunk) {
+        return playerAssignments.ownerOf(chunk);
+    }
+
+    /**
+     * @return The number of players with a home assignment.
+     */
+    public int getAssignmentCount() {
+        return playerAssignments.size();
+    }
+
+    /**
+     * The indices already sampled as ocean, river or otherwise unusable.
+     * Callers that add to it must call {@link #onUnusableIndicesChanged()} afterwards.
+     */
+    public IndexBitmap getUnusableIndices() {
+        return unusableIndices;
+    }
+
+    /**
+     * Schedules the unusable-index set for the next save.
+     * In journal mode it rides along with the next compacting snapshot instead, since it is only a cache.
+     */
+    public void onUnusableIndicesChanged() {
+        if (journal == null) {
+            this.setDirty();
+        }
+    }
+
+    /**
+     * @return An unmodifiable view of the warm pool, oldest reservation first.
+     */
+    public List<WarmSlot> getWarmSlots() {
+        return Collections.unmodifiableList(warmSlots);
+    }
+
+    /**
+     * Adds a freshly reserved slot, or replaces the slot with the same index.
+     * Like the unusable-index set, the pool is rebuildable cache and is not journaled.
+     */
+    public void putWarmSlot(WarmSlot slot) {
+        for (int i = 0; i < warmSlots.size(); i++) {
+            if (warmSlots.get(i).index() == slot.index()) {
+                warmSlots.set(i, slot);
+                onWarmSlotsChanged();
+                return;
+            }
+        }
+        warmSlots.add(slot);
+        onWarmSlotsChanged();
+    }
+
+    /**
+     * Removes a slot from the warm pool.
+     */
+    public void removeWarmSlot(int index) {
+        if (warmSlots.removeIf(slot -> slot.index() == index)) {
+            onWarmSlotsChanged();
+        }
     }
 
     /**
@@ -136,6 +442,218 @@ public class SpreaderWorldData extends SavedData {
     public void reset() {
         this.currentSpiralIndex = 0;
         this.playerAssignments.clear();
+        this.warmSlots.clear();
+        this.freeIndices.clear();
+        this.syntheticPlayers.clear();
+        if (journal != null) {
+            journal.appendReset();
+        }
         this.setDirty();
     }
-}
\ No newline at end of file
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Copies everything that is persisted into plain arrays. Cheap enough for the server thread:
+     * no tags are built and nothing is compressed.
+     */
+    private Snapshot snapshot() {
+        // Everything journaled so far is contained in this snapshot.
+        if (journal != null) {
+            snapshotSeq = journal.lastSeq();
+        }
+
+        long[] ids = new long[playerAssignments.size() * 2];
+        long[] positions = new long[playerAssignments.size()];
+        int[] cursor = {0};
+        playerAssignments.forEach((most, least, packedPos) -> {
+            int i = cursor[0]++;
+            ids[2 * i] = most;
+            ids[2 * i + 1] = least;
+            positions[i] = packedPos;
+        });
+
+        int[] layout = unusableLayout == null ? null
+                : new int[]{unusableLayout.spacingChunks(), unusableLayout.centerOffsetX(), unusableLayout.centerOffsetZ(), unusableLayout.mode().ordinal()};
+
+        long[] synthetic = new long[syntheticPlayers.size() * 2];
+        int n = 0;
+        for (UUID uuid : syntheticPlayers) {
+            synthetic[n++] = uuid.getMostSignificantBits();
+            synthetic[n++] = uuid.getLeastSignificantBits();
+        }
+
+        int[] warmIndices = new int[warmSlots.size()];
+        long[] warmChunks = new long[warmSlots.size()];
+        int[] warmSurface = new int[warmSlots.size()];
+        for (int w = 0; w < warmSlots.size(); w++) {
+            WarmSlot slot = warmSlots.get(w);
+            warmIndices[w] = slot.index();
+            warmChunks[w] = slot.chunk();
+            warmSurface[w] = slot.surfaceY();
+        }
+
+        return new Snapshot(currentSpiralIndex, snapshotSeq, ids, positions, unusableIndices.toRuns(), layout,
+                freeIndices.toIntArray(), synthetic, warmIndices, warmChunks, warmSurface);
+    }
+
+    /**
+     * Trims the journal up to a snapshot that is now on disk. May run on the snapshot writer thread.
+     */
+    private void onSnapshotWritten(long seq, Path retired) {
+        if (journal != null) {
+            journal.compactAsync(seq);
+        } else if (retired != null) {
+            try {
+                Files.deleteIfExists(retired);
+            } catch (IOException e) {
+                ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to delete retired journal", e);
+            }
+        }
+    }
+
+    /**
+     * Drops cached biome verdicts and free indices that were recorded under a different spacing, center offset or strategy.
+     */
+    private void checkLayout(SpiralLayout current) {
+        if (unusableLayout != null && !unusableLayout.equals(current) && (!unusableIndices.isEmpty() || !freeIndices.isEmpty())) {
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Spiral layout changed; discarding {} cached unusable and {} free indices.",
+                    unusableIndices.size(), freeIndices.size());
+            unusableIndices.clear();
+            freeIndices.clear();
+            setDirty();
+        }
+        unusableLayout = current;
+    }
+
+    /**
+     * Replays any journal left on disk and, in journal mode, keeps it open for appends.
+     * If journaling was switched off, the replayed records are folded into the next snapshot
+     * and the journal is deleted once that snapshot is written.
+     */
+    private void openJournal(Path path) {
+        journalChecked = true;
+        boolean journalMode = CPSConfig.PERSISTENCE_MODE.get() == CPSConfig.PersistenceMode.JOURNAL;
+        if (!journalMode && !Files.exists(path)) return;
+
+        try {
+            AssignmentJournal opened = AssignmentJournal.open(path, snapshotSeq, new AssignmentJournal.Replayer() {
+                @Override
+                public void assign(UUID uuid, BlockPos pos) {
+                    playerAssignments.put(uuid, pos.asLong());
+                }
+
+                @Override
+                public void index(int spiralIndex) {
+                    currentSpiralIndex = spiralIndex;
+                }
+
+                @Override
+                public void reset() {
+                    currentSpiralIndex = 0;
+                    playerAssignments.clear();
+                    freeIndices.clear();
+                    syntheticPlayers.clear();
+                }
+
+                @Override
+                public void remove(UUID uuid) {
+                    playerAssignments.remove(uuid);
+                    syntheticPlayers.remove(uuid);
+                }
+
+                @Override
+                public void freeIndex(int spiralIndex, boolean released) {
+                    if (released) {
+                        freeIndices.add(spiralIndex);
+                    } else {
+                        freeIndices.remove(spiralIndex);
+                    }
+                }
+
+                @Override
+                public void synthetic(UUID uuid) {
+                    syntheticPlayers.add(uuid);
+                }
+            });
+
+            // Warm slots are not journaled; drop any that the replayed records show were handed out after the snapshot.
+            warmSlots.removeIf(slot -> getOwner(new ChunkPos(slot.chunk())) != null);
+
+            if (journalMode) {
+                journal = opened;
+            } else {
+                opened.close();
+                retiredJournal = path;
+                setDirty();
+            }
+        } catch (IOException e) {
+            // Fall back to whole-file saves rather than losing changes.
+            ChunkPartySpreader.LOGGER.error("[Chunk Party Spreader] - Failed to open assignment journal; using full saves.", e);
+            setDirty();
+        }
+    }
+
+    /**
+     * In journal mode the warm pool rides along with the next compacting snapshot.
+     */
+    private void onWarmSlotsChanged() {
+        if (journal == null) {
+            this.setDirty();
+        }
+    }
+
+    /**
+     * Marks the data dirty once the journal is long or old enough, so the next world save compacts it.
+     */
+    private void requestSnapshotIfDue() {
+        long ageMillis = System.currentTimeMillis() - lastSnapshotMillis;
+        long maxAgeMillis = CPSConfig.JOURNAL_SNAPSHOT_INTERVAL_MINUTES.get() * 60_000L;
+
+        if (journal.recordsSinceSnapshot() >= CPSConfig.JOURNAL_COMPACT_THRESHOLD.get() || ageMillis >= maxAgeMillis) {
+            setDirty();
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Immutable copy of the persisted state, encoded to NBT wherever it is written from.
+     */
+    private record Snapshot(int spiralIndex, long journalSeq, long[] ids, long[] positions,
+                            int[] unusableRuns, int[] unusableLayout, int[] freeIndices, long[] syntheticIds,
+                            int[] warmIndices, long[] warmChunks, int[] warmSurface) {
+
+        CompoundTag writeTo(CompoundTag tag) {
+            // --- 1. Save Spiral Index ---
+            tag.putInt("SpiralIndex", spiralIndex);
+            tag.putLong("JournalSeq", journalSeq);
+
+            // --- 2. Save Player Assignments ---
+            tag.putInt("Format", FORMAT_VERSION);
+            tag.put("AssignmentIds", new LongArrayTag(ids));
+            tag.put("AssignmentPos", new LongArrayTag(positions));
+
+            // --- 3. Save Known-Unusable Indices ---
+            tag.putIntArray("UnusableRuns", unusableRuns);
+            if (unusableLayout != null) {
+                tag.putIntArray("UnusableLayout", unusableLayout);
+            }
+
+            // --- 4. Save Slot Recycling State ---
+            tag.putIntArray("FreeIndices", freeIndices);
+            tag.putLongArray("SyntheticIds", syntheticIds);
+
+            // --- 5. Save Warm Pool ---
+            tag.put("WarmPoolIndex", new IntArrayTag(warmIndices));
+            tag.put("WarmPoolChunk", new LongArrayTag(warmChunks));
+            tag.put("WarmPoolY", new IntArrayTag(warmSurface));
+
+            return tag;
+        }
+    }
+}
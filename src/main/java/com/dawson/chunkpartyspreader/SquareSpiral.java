@@ -0,0 +1,36 @@
+package com.dawson.chunkpartyspreader;
+
+/**
+ * The square Ulam spiral from {@link SpiralCalculator}; the default strategy.
+ * Consecutive homes are neighbours, but each ring is walked all the way round, so a run of homes
+ * late in the spiral is strung out along one edge of a large square.
+ */
+public final class SquareSpiral implements PlacementStrategy {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    public static final SquareSpiral INSTANCE = new SquareSpiral();
+
+    private SquareSpiral() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Override
+    public SpiralCalculator.IntPoint unitForIndex(int index) {
+        return SpiralCalculator.unitForIndex(index);
+    }
+
+    @Override
+    public int indexForUnit(int x, int z) {
+        return SpiralCalculator.indexForUnit(x, z);
+    }
+
+    @Override
+    public PlacementStrategy.Cursor cursor(int startIndex) {
+        return new SpiralCalculator.Cursor(startIndex);
+    }
+}
@@ -0,0 +1,101 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+/**
+ * Finds the true surface of a block column: the highest block that is neither air nor leaves.
+ * Empty sections are skipped whole, and the heightmap is only trusted after verification,
+ * since it can be stale in chunks that Chunk By Chunk has just filled.
+ */
+public final class SurfaceFinder {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private SurfaceFinder() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Resolves the column's chunk once and scans it.
+     * Loads the chunk if needed; callers on hot paths should pass a loaded chunk instead.
+     */
+    public static int findSurfaceY(ServerLevel level, int x, int z) {
+        return findSurfaceY(level.getChunk(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)), x, z);
+    }
+
+    /**
+     * @param chunk The chunk containing the column.
+     * @param x     Block X (world coordinates).
+     * @param z     Block Z (world coordinates).
+     * @return The Y of the highest non-air, non-leaf block, or the minimum build height if the column is empty.
+     */
+    public static int findSurfaceY(ChunkAccess chunk, int x, int z) {
+        int minY = chunk.getMinBuildHeight();
+        int maxY = chunk.getMaxBuildHeight() - 1;
+
+        // --- 1. Heightmap Hint ---
+        // Verified by scanning only the sections above it; anything found there wins.
+        int hint = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x & 15, z & 15);
+        if (hint > minY && hint <= maxY && isSurface(blockAt(chunk, x, hint, z))) {
+            int above = scanDown(chunk, x, z, maxY, hint);
+            return above != NONE ? above : hint;
+        }
+
+        // --- 2. Full Section-Aware Scan ---
+        int found = scanDown(chunk, x, z, maxY, minY);
+        return found != NONE ? found : minY;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Scans from {@code fromY} down to (but excluding) {@code floorY}, jumping over sections that hold only air.
+     */
+    private static int scanDown(ChunkAccess chunk, int x, int z, int fromY, int floorY) {
+        LevelChunkSection[] sections = chunk.getSections();
+        int localX = x & 15;
+        int localZ = z & 15;
+
+        int y = fromY;
+        while (y > floorY) {
+            int sectionIndex = chunk.getSectionIndex(y);
+            LevelChunkSection section = sections[sectionIndex];
+            int sectionBottom = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(sectionIndex));
+
+            if (section.hasOnlyAir()) {
+                y = sectionBottom - 1;
+                continue;
+            }
+
+            int stopY = Math.max(sectionBottom, floorY + 1);
+            for (; y >= stopY; y--) {
+                if (isSurface(section.getBlockState(localX, y & 15, localZ))) {
+                    return y;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    private static BlockState blockAt(ChunkAccess chunk, int x, int y, int z) {
+        return chunk.getSections()[chunk.getSectionIndex(y)].getBlockState(x & 15, y & 15, z & 15);
+    }
+
+    private static boolean isSurface(BlockState state) {
+        return !state.isAir() && !state.is(BlockTags.LEAVES);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dawson.chunkpartyspreader;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A bucketed time wheel that schedules keys for a future server tick.
+ * Each tick only touches the bucket that is due, so checks spread across ticks instead of
+ * piling onto one, and a per-tick time budget pushes any overflow to the following tick.
+ *
+ * @param <K> The scheduled key type. Not thread-safe; use from the server thread only.
+ */
+public final class TickWheel<K> {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Fields
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private final ArrayDeque<K>[] buckets;
+    private final int mask;
+
+    // The authoritative due tick per key; bucket entries that disagree are stale and skipped.
+    private final Map<K, Long> dueTicks = new HashMap<>();
+    private long lastDrainedTick = Long.MIN_VALUE;
+    private int deferredLastDrain = 0;
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constructors
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @param slots Number of buckets; rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public TickWheel(int slots) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Schedules (or reschedules) a key. Ticks that were already drained are moved to the next one.
+     */
+    public void schedule(K key, long tick) {
+        long due = lastDrainedTick == Long.MIN_VALUE ? tick : Math.max(tick, lastDrainedTick + 1);
+        dueTicks.put(key, due);
+        buckets[(int) (due & mask)].add(key);
+    }
+
+    /**
+     * Cancels a key. Its bucket entry is discarded lazily when the bucket comes due.
+     */
+    public void remove(K key) {
+        dueTicks.remove(key);
+    }
+
+    public boolean contains(K key) {
+        return dueTicks.containsKey(key);
+    }
+
+    public int size() {
+        return dueTicks.size();
+    }
+
+    public void clear() {
+        dueTicks.clear();
+        for (ArrayDeque<K> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * @return How many due keys the last drain pushed to the following tick.
+     */
+    public int deferredLastDrain() {
+        return deferredLastDrain;
+    }
+
+    /**
+     * Runs the action for every key due at {@code now}.
+     * At least one key always runs; after that, once {@code budgetNanos} is spent, the rest are deferred by a tick.
+     * The action may reschedule the key it is given.
+     */
+    public void drain(long now, long budgetNanos, Consumer<K> action) {
+        lastDrainedTick = now;
+        deferredLastDrain = 0;
+
+        ArrayDeque<K> bucket = buckets[(int) (now & mask)];
+        int count = bucket.size();
+        if (count == 0) return;
+
+        long start = System.nanoTime();
+        boolean ranAny = false;
+
+        for (int i = 0; i < count; i++) {
+            K key = bucket.poll();
+            Long due = dueTicks.get(key);
+
+            // Stale entry: cancelled, or rescheduled into a different bucket.
+            if (due == null || (due & mask) != (now & mask)) continue;
+
+            // Same bucket, later lap of the wheel.
+            if (due > now) {
+                bucket.add(key);
+                continue;
+            }
+
+            if (ranAny && System.nanoTime() - start > budgetNanos) {
+                schedule(key, now + 1);
+                deferredLastDrain++;
+                continue;
+            }
+
+            dueTicks.remove(key);
+            action.accept(key);
+            ranAny = true;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.fml.ModList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a small pool of spiral slots reserved and pre-generated ahead of player joins.
+ * A first join that claims a ready slot is placed on solid ground without entering stasis.
+ */
+public final class WarmPool {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final int CHECK_INTERVAL_TICKS = 20;
+    private static final int GENERATION_TIMEOUT_TICKS = 600;
+
+    // Tracks slots with a live generation request (slot index -> progress).
+    private static final Map<Integer, Generation> IN_FLIGHT = new HashMap<>();
+
+    /**
+     * A slot removed from the pool for a joining player.
+     *
+     * @param slot The claimed slot.
+     */
+    public record Claim(SpreaderWorldData.WarmSlot slot) {
+        public ChunkPos chunk() {
+            return new ChunkPos(slot.chunk());
+        }
+    }
+
+    private static class Generation {
+        final long requestTick;
+        int lastGroundY = Integer.MIN_VALUE;
+
+        Generation(long requestTick) {
+            this.requestTick = requestTick;
+        }
+    }
+
+    private WarmPool() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * @return True if the pool is configured and Chunk By Chunk is available to fill it.
+     */
+    public static boolean isEnabled() {
+        return CPSConfig.WARM_POOL_SIZE.get() > 0 && ModList.get().isLoaded("chunkbychunk");
+    }
+
+    /**
+     * Verifies in-flight generations and, while the server is quiet, reserves and generates new slots.
+     *
+     * @param quiet True if no player is currently waiting in stasis.
+     */
+    public static void tick(MinecraftServer server, boolean quiet) {
+        if (!isEnabled()) return;
+
+        ServerLevel level = server.overworld();
+        SpreaderWorldData data = SpreaderWorldData.get(level);
+        long now = server.getTickCount();
+
+        // A. Verify Generation Progress
+        if (now % CHECK_INTERVAL_TICKS == 0) {
+            verifyInFlight(level, data, now);
+        }
+
+        if (!quiet) return;
+
+        int budget = CPSConfig.WARM_POOL_REFILL_PER_TICK.get();
+
+        // B. Resume Idle Reservations (e.g. after a restart)
+        for (SpreaderWorldData.WarmSlot slot : List.copyOf(data.getWarmSlots())) {
+            if (budget <= 0) return;
+            if (slot.isReady() || IN_FLIGHT.containsKey(slot.index())) continue;
+
+            requestGeneration(level, slot, now);
+            budget--;
+        }
+
+        // C. Reserve New Slots
+        int target = CPSConfig.WARM_POOL_SIZE.get();
+        while (budget > 0 && data.getWarmSlots().size() < target) {
+            SpiralLayout layout = SpiralLayout.fromConfig();
+            int idx = SpreaderEvents.reserveNextIndex(level, data, layout);
+            SpreaderWorldData.WarmSlot slot = new SpreaderWorldData.WarmSlot(idx, layout.chunkForIndex(idx).toLong(), SpreaderWorldData.WarmSlot.NOT_READY);
+
+            ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Reserved warm slot {} at {}.", idx, new ChunkPos(slot.chunk()));
+            data.putWarmSlot(slot);
+            requestGeneration(level, slot, now);
+            budget--;
+        }
+    }
+
+    /**
+     * Removes the best available slot from the pool, preferring slots that are already generated.
+     *
+     * @return The claimed slot, or null if the pool is empty or disabled.
+     */
+    public static Claim claim(ServerLevel level, SpreaderWorldData data) {
+        if (!isEnabled() || data.getWarmSlots().isEmpty()) return null;
+
+        SpreaderWorldData.WarmSlot chosen = null;
+        for (SpreaderWorldData.WarmSlot slot : data.getWarmSlots()) {
+            if (slot.isReady()) {
+                chosen = slot;
+                break;
+            }
+        }
+        if (chosen == null) {
+            chosen = data.getWarmSlots().get(0);
+        }
+
+        data.removeWarmSlot(chosen.index());
+        if (IN_FLIGHT.remove(chosen.index()) != null) {
+            ChunkTickets.release(level, new ChunkPos(chosen.chunk()), ChunkTickets.Purpose.WARM_POOL, chosen.index());
+        }
+        return new Claim(chosen);
+    }
+
+    /**
+     * @return True while the slot has a live generation request.
+     */
+    public static boolean isGenerating(int slotIndex) {
+        return IN_FLIGHT.containsKey(slotIndex);
+    }
+
+    /**
+     * Drops all in-flight tracking and tickets. Used when the saved data is wiped.
+     */
+    public static void clear(ServerLevel level) {
+        for (SpreaderWorldData.WarmSlot slot : SpreaderWorldData.get(level).getWarmSlots()) {
+            if (IN_FLIGHT.containsKey(slot.index())) {
+                ChunkTickets.release(level, new ChunkPos(slot.chunk()), ChunkTickets.Purpose.WARM_POOL, slot.index());
+            }
+        }
+        IN_FLIGHT.clear();
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void requestGeneration(ServerLevel level, SpreaderWorldData.WarmSlot slot, long now) {
+        ChunkPos chunk = new ChunkPos(slot.chunk());
+
+        IN_FLIGHT.put(slot.index(), new Generation(now));
+        ChunkTickets.acquire(level, chunk, ChunkTickets.Purpose.WARM_POOL, slot.index());
+
+        // Prefetch priority: any joining player's request is dispatched first.
+        GenerationQueue.submit(chunk, GenerationQueue.Priority.PREFETCH);
+        ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Warm slot {} queued for generation.", slot.index());
+    }
+
+    /**
+     * Marks a slot ready once its ground has been seen at the same height on two consecutive checks.
+     */
+    private static void verifyInFlight(ServerLevel level, SpreaderWorldData data, long now) {
+        int minBuild = level.getMinBuildHeight();
+
+        for (SpreaderWorldData.WarmSlot slot : List.copyOf(data.getWarmSlots())) {
+            Generation generation = IN_FLIGHT.get(slot.index());
+            if (generation == null) continue;
+
+            ChunkPos chunk = new ChunkPos(slot.chunk());
+            // The queue retries on its own; only give up once it has let go of the chunk.
+            boolean isTimeout = (now - generation.requestTick) > GENERATION_TIMEOUT_TICKS && !GenerationQueue.isPending(chunk);
+
+            // Never force a synchronous load here; the ticket brings the chunk in on its own.
+            LevelChunk loaded = level.getChunkSource().getChunkNow(chunk.x, chunk.z);
+            if (loaded != null) {
+                int groundY = SurfaceFinder.findSurfaceY(loaded, chunk.getMinBlockX() + 8, chunk.getMinBlockZ() + 8);
+
+                if (groundY > minBuild + 1 && groundY == generation.lastGroundY) {
+                    ChunkPartySpreader.LOGGER.info("[Chunk Party Spreader] - Warm slot {} is ready (ground Y={}).", slot.index(), groundY);
+                    data.putWarmSlot(new SpreaderWorldData.WarmSlot(slot.index(), slot.chunk(), groundY));
+                    ChunkTickets.release(level, chunk, ChunkTickets.Purpose.WARM_POOL, slot.index());
+                    IN_FLIGHT.remove(slot.index());
+                    continue;
+                }
+                generation.lastGroundY = groundY;
+            }
+
+            if (isTimeout) {
+                // Leave the reservation in place; the next quiet tick requests it again.
+                ChunkPartySpreader.LOGGER.warn("[Chunk Party Spreader] - Warm slot {} did not generate in time. Retrying later.", slot.index());
+                ChunkTickets.release(level, chunk, ChunkTickets.Purpose.WARM_POOL, slot.index());
+                IN_FLIGHT.remove(slot.index());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.dawson.chunkpartyspreader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classifies a window of consecutive spiral indices in parallel.
+ * The window is split recursively across a fork-join pool; each leaf walks its own spiral cursor
+ * and writes into its slice of a shared table, so no synchronization is needed beyond the final join.
+ * The lookup must be thread-safe, which the noise biome source is.
+ */
+public final class WindowClassifier {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Constants and Static Utilities
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    // Indices a leaf classifies sequentially; small enough to balance, large enough to amortize the cursor seek.
+    private static final int SPLIT_THRESHOLD = 128;
+
+    private WindowClassifier() {}
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Public Methods
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    /**
+     * Classifies indices {@code startIndex .. startIndex + length - 1} into {@code table[0 .. length - 1]}.
+     * Blocks until the whole window is done.
+     */
+    public static void classify(ForkJoinPool pool, SpiralLayout layout, BiomeClassifier.ColumnLookup lookup,
+                                int startIndex, byte[] table, int length) {
+        if (length > table.length) throw new IllegalArgumentException("Window " + length + " exceeds table size " + table.length);
+        pool.invoke(new Slice(layout, lookup, startIndex, table, 0, length));
+    }
+
+    /**
+     * Creates a pool of daemon workers that carry the mod's class loader, which the common pool's threads do not.
+     *
+     * @param threads Parallelism; 0 uses half the available cores.
+     */
+    public static ForkJoinPool createPool(String name, int threads) {
+        int parallelism = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ClassLoader loader = WindowClassifier.class.getClassLoader();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(loader);
+            return thread;
+        }, null, false);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final class Slice extends RecursiveAction {
+        private final SpiralLayout layout;
+        private final BiomeClassifier.ColumnLookup lookup;
+        private final int startIndex;
+        private final byte[] table;
+        private final int from;
+        private final int to;
+
+        Slice(SpiralLayout layout, BiomeClassifier.ColumnLookup lookup, int startIndex, byte[] table, int from, int to) {
+            this.layout = layout;
+            this.lookup = lookup;
+            this.startIndex = startIndex;
+            this.table = table;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                PlacementStrategy.Cursor cursor = layout.cursor(startIndex + from);
+                for (int i = from; i < to; i++) {
+                    table[i] = lookup.classify(layout.centerBlockX(cursor), layout.centerBlockZ(cursor));
+                    cursor.next();
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new Slice(layout, lookup, startIndex, table, from, mid),
+                    new Slice(layout, lookup, startIndex, table, mid, to));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.dawson.chunkpartyspreader;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Replay of {@link AssignmentJournal} files, without the writer thread or the mod config.
+ */
+class AssignmentJournalTest {
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Tests
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    @Test
+    void tornTailIsCutBeforeTheNextAppend(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("journal.bin");
+        UUID first = new UUID(1, 2);
+        UUID second = new UUID(3, 4);
+
+        // --- 1. Two whole records, then a crash mid-record ---
+        append(path, AssignmentJournal.TYPE_ASSIGN, 1, first, new BlockPos(8, 64, 8));
+        append(path, AssignmentJournal.TYPE_INDEX, 2, 1, 0L, 0L);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{AssignmentJournal.TYPE_ASSIGN, 0, 0, 0, 0, 0, 0, 0, 3, 9, 9}));
+        }
+
+        Recorder recorder = new Recorder();
+        AssignmentJournal.Replay replay = AssignmentJournal.replay(path, 0, recorder);
+        assertEquals(2, replay.replayed());
+        assertEquals(2, replay.lastSeq());
+        assertEquals(List.of("assign " + first + " " + new BlockPos(8, 64, 8), "index 1"), recorder.events);
+
+        // --- 2. The next record lands on a boundary and survives another restart ---
+        append(path, AssignmentJournal.TYPE_ASSIGN, 3, second, new BlockPos(408, 70, 8));
+
+        recorder = new Recorder();
+        replay = AssignmentJournal.replay(path, 0, recorder);
+        assertEquals(3, replay.replayed());
+        assertEquals(3, replay.lastSeq());
+        assertEquals(List.of("assign " + first + " " + new BlockPos(8, 64, 8), "index 1",
+                "assign " + second + " " + new BlockPos(408, 70, 8)), recorder.events);
+    }
+
+    @Test
+    void tornHeaderStartsAFreshJournal(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("journal.bin");
+        Files.write(path, new byte[]{0x43, 0x50, 0x53});
+
+        AssignmentJournal.Replay replay = AssignmentJournal.replay(path, 5, new Recorder());
+        assertEquals(0, replay.replayed());
+        assertEquals(5, replay.lastSeq());
+        assertEquals(0, Files.size(path));
+
+        append(path, AssignmentJournal.TYPE_INDEX, 6, 7, 0L, 0L);
+        Recorder recorder = new Recorder();
+        AssignmentJournal.replay(path, 5, recorder);
+        assertEquals(List.of("index 7"), recorder.events);
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Private Helpers
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static void append(Path path, byte type, long seq, UUID uuid, BlockPos pos) throws IOException {
+        append(path, type, seq, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), pos.asLong());
+    }
+
+    /**
+     * Appends one record the way the writer thread does, through the same append channel.
+     */
+    private static void append(Path path, byte type, long seq, long a, long b, long c) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AssignmentJournal.writeRecord(new DataOutputStream(bytes), type, seq, a, b, c);
+        try (FileChannel channel = AssignmentJournal.openForAppend(path)) {
+            channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+        }
+    }
+
+    /* ──────────────────────────────────────────────────────────────────────────────
+     *        Nested Types
+     * ────────────────────────────────────────────────────────────────────────────*/
+
+    private static final class Recorder implements AssignmentJournal.Replayer {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void assign(UUID uuid, BlockPos pos) {
+            events.add("assign " + uuid + " " + pos);
+        }
+
+        @Override
+        public void index(int spiralIndex) {
+            events.add("index " + spiralIndex);
+        }
+
+        @Override
+        public void reset() {
+            events.add("reset");
+        }
+
+        @Override
+        public void remove(UUID uuid) {
+            events.add("remove " + uuid);
+        }
+
+        @Override
+        public void freeIndex(int spiralIndex, boolean released) {
+            events.add("free " + spiralIndex + " " + released);
+        }
+
+        @Override
+        public void synthetic(UUID uuid) {
+            events.add("synthetic " + uuid);
+        }
+    }
+}